@@ -0,0 +1,86 @@
+package com.github.jonpereiradev.diffobjects.benchmark;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Item;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Orders;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Diff of a batch of pairs through a serial loop over {@code DiffObjects.diff} and through
+ * {@code DiffObjects.diffAll} on the common pool, keeping the results in order or passing them to a listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchDiffBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private DiffConfig config;
+    private DiffObjects<Item> diffObjects;
+    private List<Item> expected;
+    private List<Item> current;
+
+    @Setup
+    public void setup() {
+        config = DiffConfigBuilder.forClass(Item.class).mapping().annotations().build();
+        diffObjects = DiffObjects.forClass(Item.class);
+        expected = Orders.items(size, -1);
+        current = Orders.items(size, size / 2);
+    }
+
+    @Benchmark
+    public void serial(Blackhole blackhole) {
+        List<DiffResults> results = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            results.add(diffObjects.diff(expected.get(i), current.get(i), config));
+        }
+
+        blackhole.consume(results);
+    }
+
+    @Benchmark
+    public List<DiffResults> diffAll() {
+        return diffObjects.diffAll(expected, current, config);
+    }
+
+    @Benchmark
+    public long diffAllListener() {
+        LongAdder differences = new LongAdder();
+
+        diffObjects.diffAll(expected, current, config, ForkJoinPool.commonPool(), (index, results) -> {
+            if (results.stream().anyMatch(result -> !result.isEquals())) {
+                differences.increment();
+            }
+        });
+
+        return differences.sum();
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.jonpereiradev.diffobjects.benchmark;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Order;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Orders;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.comparator.IndexComparator;
+import com.github.jonpereiradev.diffobjects.comparator.UnorderedComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Diff of a collection field with 10 to 100k elements, compared by position or as a bag.
+ * <p>
+ * The collections are equal, so the whole collection is checked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionFieldBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"index", "unordered"})
+    private String comparator;
+
+    private DiffConfig config;
+    private DiffObjects<Order> diffObjects;
+    private Order expected;
+    private Order current;
+
+    @Setup
+    public void setup() {
+        DiffComparator<Object> elementComparator = "index".equals(comparator) ? new IndexComparator<>() : new UnorderedComparator<>();
+
+        config = DiffConfigBuilder.forClass(Order.class).mapping().fields().map("items.name", elementComparator).build();
+        diffObjects = DiffObjects.forClass(Order.class);
+        expected = Orders.order("A", "City", Orders.items(size, -1));
+        current = Orders.order("A", "City", Orders.items(size, -1));
+    }
+
+    @Benchmark
+    public DiffResults diff() {
+        return diffObjects.diff(expected, current, config);
+    }
+
+    @Benchmark
+    public boolean isEquals() {
+        return diffObjects.isEquals(expected, current, config);
+    }
+}
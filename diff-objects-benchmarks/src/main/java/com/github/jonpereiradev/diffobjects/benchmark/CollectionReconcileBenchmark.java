@@ -0,0 +1,85 @@
+package com.github.jonpereiradev.diffobjects.benchmark;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Item;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Orders;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Reconciliation of two collections through {@code DiffObjects.diff(Collection, ...)}, matching the elements with a
+ * {@code DiffComparator} matcher or with a {@code DiffKey}, serially and with the matched pairs compared on the
+ * common pool.
+ * <p>
+ * The current collection is reversed, so the matcher scans half of the collection on average for each element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionReconcileBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private DiffConfig config;
+    private DiffObjects<Item> diffObjects;
+    private List<Item> expected;
+    private List<Item> current;
+
+    @Setup
+    public void setup() {
+        config = DiffConfigBuilder.forClass(Item.class).mapping().annotations().build();
+        diffObjects = DiffObjects.forClass(Item.class);
+        expected = Orders.items(size, -1);
+        current = Orders.items(size, size / 2);
+
+        Collections.reverse(current);
+    }
+
+    @Benchmark
+    public DiffResults matcher() {
+        return diffObjects.diff(expected, current, (a, b) -> a.getId() == b.getId());
+    }
+
+    @Benchmark
+    public DiffResults key() {
+        return diffObjects.diff(expected, current, Item::getId);
+    }
+
+    @Benchmark
+    public DiffResults keyParallel() {
+        return diffObjects.diff(expected, current, config, Item::getId, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public boolean matcherIsEquals() {
+        return diffObjects.isEquals(expected, current, (a, b) -> a.getId() == b.getId());
+    }
+
+    @Benchmark
+    public boolean keyIsEquals() {
+        return diffObjects.isEquals(expected, current, Item::getId);
+    }
+}
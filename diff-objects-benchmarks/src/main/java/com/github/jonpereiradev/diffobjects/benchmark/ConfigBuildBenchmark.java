@@ -0,0 +1,48 @@
+package com.github.jonpereiradev.diffobjects.benchmark;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Order;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cost of building a configuration from the annotations and from the fields builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBuildBenchmark {
+
+    @Benchmark
+    public DiffConfig annotations() {
+        return DiffConfigBuilder.forClass(Order.class).mapping().annotations().build();
+    }
+
+    @Benchmark
+    public DiffConfig fields() {
+        return DiffConfigBuilder.forClass(Order.class)
+            .mapping()
+            .fields()
+            .map("code")
+            .map("quantity")
+            .map("total")
+            .map("customer.address.city")
+            .map("items.name")
+            .build();
+    }
+}
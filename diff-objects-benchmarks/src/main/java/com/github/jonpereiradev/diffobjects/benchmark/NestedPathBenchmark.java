@@ -0,0 +1,65 @@
+package com.github.jonpereiradev.diffobjects.benchmark;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Order;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Orders;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Diff of nested property paths, like {@code customer.address.city}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestedPathBenchmark {
+
+    private DiffConfig config;
+    private DiffObjects<Order> diffObjects;
+    private Order expected;
+    private Order current;
+
+    @Setup
+    public void setup() {
+        config = DiffConfigBuilder.forClass(Order.class)
+            .mapping()
+            .fields()
+            .map("customer.address.city")
+            .map("customer.address.street")
+            .map("customer.name")
+            .build();
+
+        diffObjects = DiffObjects.forClass(Order.class);
+        expected = Orders.order("A", "City A", Collections.emptyList());
+        current = Orders.order("A", "City B", Collections.emptyList());
+    }
+
+    @Benchmark
+    public DiffResults diff() {
+        return diffObjects.diff(expected, current, config);
+    }
+
+    @Benchmark
+    public boolean isEquals() {
+        return diffObjects.isEquals(expected, current, config);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.jonpereiradev.diffobjects.benchmark;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffConfigImpl;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.benchmark.model.Address;
+import com.github.jonpereiradev.diffobjects.builder.DiffBuilderContext;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+import com.github.jonpereiradev.diffobjects.strategy.DiffStrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Diff of a single object with 5, 50 and 500 mapped fields, comparing {@code diff} with {@code isEquals}.
+ * <p>
+ * The fields are mapped on the getters of {@link Address}, repeated under different names, so the cost of each field
+ * is a getter call and a comparator call like a wide entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingleObjectBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int fields;
+
+    private DiffConfig config;
+    private DiffObjects<Address> diffObjects;
+    private Address expected;
+    private Address current;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Method[] getters = {Address.class.getMethod("getStreet"), Address.class.getMethod("getCity")};
+        DiffBuilderContext<Address> context = new DiffBuilderContext<>(Address.class);
+
+        for (int i = 0; i < fields; i++) {
+            String name = "field" + i;
+            DiffMetadata metadata = new DiffMetadata("", getters[i % getters.length], DiffStrategyType.SINGLE, new EqualsComparator<>());
+
+            metadata.getProperties().put("field", name);
+            context.put(name, metadata);
+        }
+
+        config = new DiffConfigImpl(context);
+        diffObjects = DiffObjects.forClass(Address.class);
+        expected = new Address("Street", "City");
+        current = new Address("Street", "City");
+    }
+
+    @Benchmark
+    public DiffResults diff() {
+        return diffObjects.diff(expected, current, config);
+    }
+
+    @Benchmark
+    public boolean isEquals() {
+        return diffObjects.isEquals(expected, current, config);
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.jonpereiradev.diffobjects.benchmark.model;
+
+
+public class Address {
+
+    private final String street;
+    private final String city;
+
+    public Address(String street, String city) {
+        this.street = street;
+        this.city = city;
+    }
+
+    public String getStreet() {
+        return street;
+    }
+
+    public String getCity() {
+        return city;
+    }
+}
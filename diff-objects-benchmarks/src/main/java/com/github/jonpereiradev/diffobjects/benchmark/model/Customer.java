@@ -0,0 +1,21 @@
+package com.github.jonpereiradev.diffobjects.benchmark.model;
+
+
+public class Customer {
+
+    private final String name;
+    private final Address address;
+
+    public Customer(String name, Address address) {
+        this.name = name;
+        this.address = address;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.jonpereiradev.diffobjects.benchmark.model;
+
+
+import com.github.jonpereiradev.diffobjects.annotation.DiffMapping;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+
+public class Item {
+
+    private final long id;
+    private final String name;
+    private final BigDecimal price;
+
+    public Item(long id, String name, BigDecimal price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @DiffMapping
+    public String getName() {
+        return name;
+    }
+
+    @DiffMapping
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Item item = (Item) o;
+        return id == item.id && Objects.equals(name, item.name) && Objects.equals(price, item.price);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, price);
+    }
+}
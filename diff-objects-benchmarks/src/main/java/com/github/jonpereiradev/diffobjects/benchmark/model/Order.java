@@ -0,0 +1,50 @@
+package com.github.jonpereiradev.diffobjects.benchmark.model;
+
+
+import com.github.jonpereiradev.diffobjects.annotation.DiffMapping;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+
+public class Order {
+
+    private final String code;
+    private final int quantity;
+    private final BigDecimal total;
+    private final Customer customer;
+    private final List<Item> items;
+
+    public Order(String code, int quantity, BigDecimal total, Customer customer, List<Item> items) {
+        this.code = code;
+        this.quantity = quantity;
+        this.total = total;
+        this.customer = customer;
+        this.items = items;
+    }
+
+    @DiffMapping
+    public String getCode() {
+        return code;
+    }
+
+    @DiffMapping
+    public int getQuantity() {
+        return quantity;
+    }
+
+    @DiffMapping
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    @DiffMapping("address.city")
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    @DiffMapping("name")
+    public List<Item> getItems() {
+        return items;
+    }
+}
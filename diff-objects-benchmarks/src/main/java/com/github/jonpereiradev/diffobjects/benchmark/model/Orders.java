@@ -0,0 +1,37 @@
+package com.github.jonpereiradev.diffobjects.benchmark.model;
+
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Creates the objects compared by the benchmarks.
+ */
+public final class Orders {
+
+    private Orders() {
+    }
+
+    public static Order order(String code, String city, List<Item> items) {
+        Address address = new Address("Street", city);
+        Customer customer = new Customer("Customer", address);
+
+        return new Order(code, items.size(), BigDecimal.TEN, customer, items);
+    }
+
+    /**
+     * Creates the items with the ids from 0 until the size, changing the price of the item at {@code changedIndex}.
+     */
+    public static List<Item> items(int size, int changedIndex) {
+        List<Item> items = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            BigDecimal price = i == changedIndex ? BigDecimal.ONE : BigDecimal.TEN;
+            items.add(new Item(i, "Item " + i, price));
+        }
+
+        return items;
+    }
+}
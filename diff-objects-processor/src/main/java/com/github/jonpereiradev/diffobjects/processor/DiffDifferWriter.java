@@ -0,0 +1,262 @@
+package com.github.jonpereiradev.diffobjects.processor;
+
+
+import com.github.jonpereiradev.diffobjects.processor.DiffFieldMapping.DiffGetterStep;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Writes the source of the differ generated for a mapped class.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffDifferWriter {
+
+    private static final String DIFF_RESULT = "com.github.jonpereiradev.diffobjects.DiffResult";
+    private static final String DIFF_RESULTS = "com.github.jonpereiradev.diffobjects.DiffResults";
+    private static final String DIFF_DIFFER = "com.github.jonpereiradev.diffobjects.DiffDiffer";
+    private static final String DIFF_COMPARATOR = "com.github.jonpereiradev.diffobjects.comparator.DiffComparator";
+    private static final String DIFF_COLLECTIONS = "com.github.jonpereiradev.diffobjects.strategy.DiffCollections";
+
+    private final ProcessingEnvironment processingEnv;
+    private final List<DiffFieldMapping> mappings;
+    private final String packageName;
+    private final String simpleName;
+    private final String typeName;
+
+    DiffDifferWriter(ProcessingEnvironment processingEnv, TypeElement type, List<DiffFieldMapping> mappings) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+
+        this.processingEnv = processingEnv;
+        this.mappings = mappings;
+        this.packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        this.simpleName = DiffMappingProcessor.DIFFER_PREFIX + nestedName(type);
+        this.typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+    }
+
+    private static String nestedName(TypeElement type) {
+        Element enclosing = type.getEnclosingElement();
+
+        if (enclosing instanceof TypeElement) {
+            return nestedName((TypeElement) enclosing) + "_" + type.getSimpleName();
+        }
+
+        return type.getSimpleName().toString();
+    }
+
+    /**
+     * @return the qualified name of the generated differ.
+     */
+    String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    void write(Writer out) throws IOException {
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n");
+        source.append(" * Differ generated by the diff-objects annotation processor for {@link ").append(typeName).append("}.\n");
+        source.append(" */\n");
+        source.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        source.append("public final class ").append(simpleName)
+            .append(" implements ").append(DIFF_DIFFER).append("<").append(typeName).append("> {\n\n");
+
+        writeConstants(source);
+        writeGetType(source);
+        writeDiff(source);
+        writeDiffChanges(source);
+        writeIsEquals(source);
+        writeValueMethods(source);
+
+        source.append("}\n");
+        out.write(source.toString());
+    }
+
+    private void writeConstants(StringBuilder source) {
+        for (int i = 0; i < mappings.size(); i++) {
+            DiffFieldMapping mapping = mappings.get(i);
+
+            source.append("    private static final ").append(DIFF_COMPARATOR).append(" COMPARATOR_").append(i)
+                .append(" = new ").append(mapping.getComparator()).append("();\n");
+            source.append("    private static final java.util.Map<String, String> PROPERTIES_").append(i)
+                .append(" = java.util.Map.ofEntries(");
+
+            Iterator<Map.Entry<String, String>> properties = mapping.getProperties().entrySet().iterator();
+
+            while (properties.hasNext()) {
+                Map.Entry<String, String> property = properties.next();
+
+                source.append("java.util.Map.entry(").append(literal(property.getKey())).append(", ")
+                    .append(literal(property.getValue())).append(")");
+
+                if (properties.hasNext()) {
+                    source.append(", ");
+                }
+            }
+
+            source.append(");\n");
+
+            if (mapping.isCollection() && !mapping.getElementGetters().isEmpty()) {
+                source.append("    private static final java.util.function.Function<Object, Object> ELEMENT_").append(i)
+                    .append(" = ").append(simpleName).append("::element").append(i).append(";\n");
+            }
+        }
+
+        source.append("\n");
+    }
+
+    private void writeGetType(StringBuilder source) {
+        source.append("    @Override\n");
+        source.append("    public Class<").append(typeName).append("> getType() {\n");
+        source.append("        return ").append(typeName).append(".class;\n");
+        source.append("    }\n\n");
+    }
+
+    private void writeDiff(StringBuilder source) {
+        source.append("    @Override\n");
+        source.append("    public ").append(DIFF_RESULTS).append(" diff(")
+            .append(typeName).append(" expected, ").append(typeName).append(" current) {\n");
+        source.append("        java.util.List<").append(DIFF_RESULT).append("> results = new java.util.ArrayList<>(")
+            .append(mappings.size()).append(");\n");
+
+        for (int i = 0; i < mappings.size(); i++) {
+            DiffFieldMapping mapping = mappings.get(i);
+
+            if (mapping.isCollection()) {
+                source.append("        results.add(").append(DIFF_COLLECTIONS).append(".diff(value").append(i)
+                    .append("(expected), value").append(i).append("(current), ").append(elementFunction(mapping, i))
+                    .append(", COMPARATOR_").append(i).append(", PROPERTIES_").append(i).append("));\n");
+            } else {
+                source.append("        Object expected").append(i).append(" = value").append(i).append("(expected);\n");
+                source.append("        Object current").append(i).append(" = value").append(i).append("(current);\n");
+                source.append("        results.add(").append(DIFF_RESULT).append(".forValue(expected").append(i)
+                    .append(", current").append(i).append(", COMPARATOR_").append(i).append(".isEquals(expected")
+                    .append(i).append(", current").append(i).append("), PROPERTIES_").append(i).append("));\n");
+            }
+        }
+
+        source.append("        return ").append(DIFF_RESULTS).append(".forResults(results);\n");
+        source.append("    }\n\n");
+    }
+
+    private void writeDiffChanges(StringBuilder source) {
+        source.append("    @Override\n");
+        source.append("    public ").append(DIFF_RESULTS).append(" diffChanges(")
+            .append(typeName).append(" expected, ").append(typeName).append(" current) {\n");
+        source.append("        java.util.List<").append(DIFF_RESULT).append("> results = new java.util.ArrayList<>();\n");
+
+        for (int i = 0; i < mappings.size(); i++) {
+            DiffFieldMapping mapping = mappings.get(i);
+
+            if (mapping.isCollection()) {
+                source.append("        if (!").append(DIFF_COLLECTIONS).append(".isEquals(value").append(i)
+                    .append("(expected), value").append(i).append("(current), ").append(elementFunction(mapping, i))
+                    .append(", COMPARATOR_").append(i).append(")) {\n");
+                source.append("            results.add(").append(DIFF_COLLECTIONS).append(".diff(value").append(i)
+                    .append("(expected), value").append(i).append("(current), ").append(elementFunction(mapping, i))
+                    .append(", COMPARATOR_").append(i).append(", PROPERTIES_").append(i).append("));\n");
+                source.append("        }\n");
+            } else {
+                source.append("        Object expected").append(i).append(" = value").append(i).append("(expected);\n");
+                source.append("        Object current").append(i).append(" = value").append(i).append("(current);\n");
+                source.append("        if (!COMPARATOR_").append(i).append(".isEquals(expected").append(i)
+                    .append(", current").append(i).append(")) {\n");
+                source.append("            results.add(").append(DIFF_RESULT).append(".forValue(expected").append(i)
+                    .append(", current").append(i).append(", false, PROPERTIES_").append(i).append("));\n");
+                source.append("        }\n");
+            }
+        }
+
+        source.append("        return ").append(DIFF_RESULTS).append(".forResults(results);\n");
+        source.append("    }\n\n");
+    }
+
+    private void writeIsEquals(StringBuilder source) {
+        source.append("    @Override\n");
+        source.append("    public boolean isEquals(").append(typeName).append(" expected, ")
+            .append(typeName).append(" current) {\n");
+
+        for (int i = 0; i < mappings.size(); i++) {
+            DiffFieldMapping mapping = mappings.get(i);
+
+            if (mapping.isCollection()) {
+                source.append("        if (!").append(DIFF_COLLECTIONS).append(".isEquals(value").append(i)
+                    .append("(expected), value").append(i).append("(current), ").append(elementFunction(mapping, i))
+                    .append(", COMPARATOR_").append(i).append(")) {\n");
+            } else {
+                source.append("        if (!COMPARATOR_").append(i).append(".isEquals(value").append(i)
+                    .append("(expected), value").append(i).append("(current))) {\n");
+            }
+
+            source.append("            return false;\n");
+            source.append("        }\n\n");
+        }
+
+        source.append("        return true;\n");
+        source.append("    }\n");
+    }
+
+    private void writeValueMethods(StringBuilder source) {
+        for (int i = 0; i < mappings.size(); i++) {
+            DiffFieldMapping mapping = mappings.get(i);
+            String returnType = mapping.isCollection() ? "java.util.Collection<?>" : "Object";
+
+            source.append("\n    private static ").append(returnType).append(" value").append(i)
+                .append("(").append(typeName).append(" object) {\n");
+
+            if (mapping.isCollection()) {
+                source.append("        return object.").append(mapping.getGetters().get(0).getMethodName()).append("();\n");
+            } else {
+                writeGetterChain(source, mapping.getGetters());
+            }
+
+            source.append("    }\n");
+
+            if (mapping.isCollection() && !mapping.getElementGetters().isEmpty()) {
+                source.append("\n    private static Object element").append(i).append("(Object object) {\n");
+                writeGetterChain(source, mapping.getElementGetters());
+                source.append("    }\n");
+            }
+        }
+    }
+
+    /**
+     * Calls each getter on the value returned by the previous one, returning {@code null} when a value is missing.
+     */
+    private static void writeGetterChain(StringBuilder source, List<DiffGetterStep> getters) {
+        source.append("        Object value = object;\n");
+
+        for (DiffGetterStep getter : getters) {
+            source.append("        if (value == null) {\n");
+            source.append("            return null;\n");
+            source.append("        }\n");
+            source.append("        value = ((").append(getter.getOwnerType()).append(") value).")
+                .append(getter.getMethodName()).append("();\n");
+        }
+
+        source.append("        return value;\n");
+    }
+
+    private static String elementFunction(DiffFieldMapping mapping, int index) {
+        return mapping.getElementGetters().isEmpty() ? "null" : "ELEMENT_" + index;
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.github.jonpereiradev.diffobjects.processor;
+
+
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A mapped field resolved at compile time, with the getters that must be called to read its value.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffFieldMapping {
+
+    private final String field;
+    private final boolean collection;
+    private final List<DiffGetterStep> getters;
+    private final List<DiffGetterStep> elementGetters;
+    private final String comparator;
+    private final Map<String, String> properties;
+
+    private int order;
+
+    DiffFieldMapping(
+        String field,
+        boolean collection,
+        List<DiffGetterStep> getters,
+        List<DiffGetterStep> elementGetters,
+        String comparator,
+        Map<String, String> properties) {
+        this.field = field;
+        this.collection = collection;
+        this.getters = getters;
+        this.elementGetters = elementGetters;
+        this.comparator = comparator;
+        this.properties = properties;
+    }
+
+    String getField() {
+        return field;
+    }
+
+    /**
+     * @return {@code true} if the field is a collection compared element by element.
+     */
+    boolean isCollection() {
+        return collection;
+    }
+
+    /**
+     * @return the getters called from the compared object to read the value of the field.
+     */
+    List<DiffGetterStep> getGetters() {
+        return getters;
+    }
+
+    /**
+     * @return the getters called from each element of a collection field, empty to compare the elements.
+     */
+    List<DiffGetterStep> getElementGetters() {
+        return elementGetters;
+    }
+
+    String getComparator() {
+        return comparator;
+    }
+
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
+    int getOrder() {
+        return order;
+    }
+
+    void setOrder(int order) {
+        this.order = order;
+    }
+
+    /**
+     * A getter call on a value of the owner type.
+     */
+    static final class DiffGetterStep {
+
+        private final String ownerType;
+        private final String methodName;
+
+        DiffGetterStep(String ownerType, String methodName) {
+            this.ownerType = ownerType;
+            this.methodName = methodName;
+        }
+
+        /**
+         * @return the erased type name used to cast the value before calling the getter.
+         */
+        String getOwnerType() {
+            return ownerType;
+        }
+
+        String getMethodName() {
+            return methodName;
+        }
+    }
+
+}
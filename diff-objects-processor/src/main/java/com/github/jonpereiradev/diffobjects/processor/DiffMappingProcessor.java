@@ -0,0 +1,570 @@
+package com.github.jonpereiradev.diffobjects.processor;
+
+
+import com.github.jonpereiradev.diffobjects.DiffDiffer;
+import com.github.jonpereiradev.diffobjects.annotation.DiffIgnore;
+import com.github.jonpereiradev.diffobjects.annotation.DiffMapping;
+import com.github.jonpereiradev.diffobjects.annotation.DiffMappings;
+import com.github.jonpereiradev.diffobjects.annotation.DiffOrder;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
+import com.github.jonpereiradev.diffobjects.comparator.IndexComparator;
+import com.github.jonpereiradev.diffobjects.processor.DiffFieldMapping.DiffGetterStep;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+/**
+ * Generates a {@code Differ_<Type>} source file for each class mapped with the diff annotations.
+ * <p>
+ * The generated differ follows the same rules as the runtime annotation mapping, but calls the getters directly and
+ * is registered as a {@link java.util.ServiceLoader} provider of {@link DiffDiffer}. When a class uses a mapping that
+ * can't be resolved at compile time, a warning is reported and the class keeps using the runtime mapping.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+@SupportedAnnotationTypes({
+    "com.github.jonpereiradev.diffobjects.annotation.DiffMapping",
+    "com.github.jonpereiradev.diffobjects.annotation.DiffMappings",
+    "com.github.jonpereiradev.diffobjects.annotation.DiffIgnore"
+})
+public final class DiffMappingProcessor extends AbstractProcessor {
+
+    static final String DIFFER_PREFIX = "Differ_";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + DiffDiffer.class.getName();
+    private static final String SERVICE_COMMENT = "#";
+    private static final String GET_METHOD_PREFIX = "get";
+    private static final String REGEX_PROPERTY_SEPARATOR = "\\.";
+
+    private final Set<String> processedTypes = new LinkedHashSet<>();
+    private final Set<String> compiledTypes = new HashSet<>();
+    private final Map<String, String> generatedDiffers = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        addCompiledTypes(ElementFilter.typesIn(roundEnv.getRootElements()));
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement type = enclosingType(element);
+
+                if (type != null && processedTypes.add(type.getQualifiedName().toString())) {
+                    generateDiffer(type);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void addCompiledTypes(Collection<TypeElement> types) {
+        for (TypeElement type : types) {
+            compiledTypes.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            addCompiledTypes(ElementFilter.typesIn(type.getEnclosedElements()));
+        }
+    }
+
+    private static TypeElement enclosingType(Element element) {
+        if (element.getKind().isClass() || element.getKind().isInterface()) {
+            return (TypeElement) element;
+        }
+
+        if (element.getKind() == ElementKind.METHOD) {
+            return (TypeElement) element.getEnclosingElement();
+        }
+
+        return null;
+    }
+
+    private void generateDiffer(TypeElement type) {
+        if (type.getKind() == ElementKind.ANNOTATION_TYPE || !isAccessible(type)) {
+            return;
+        }
+
+        try {
+            List<DiffFieldMapping> mappings = new ArrayList<>(mapType(type).values());
+            mappings.sort(Comparator.comparingInt(DiffFieldMapping::getOrder));
+
+            DiffDifferWriter writer = new DiffDifferWriter(processingEnv, type, mappings);
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(writer.getQualifiedName(), type);
+
+            try (Writer out = sourceFile.openWriter()) {
+                writer.write(out);
+            }
+
+            generatedDiffers.put(writer.getQualifiedName(), processingEnv.getElementUtils().getBinaryName(type).toString());
+        } catch (DiffProcessingException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.WARNING,
+                "No differ generated, the runtime mapping will be used: " + e.getMessage(),
+                e.getElement()
+            );
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the differ: " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Only classes that can be referenced from the generated class in the same package are supported.
+     */
+    private static boolean isAccessible(TypeElement type) {
+        Element element = type;
+
+        while (element instanceof TypeElement) {
+            TypeElement current = (TypeElement) element;
+
+            if (current.getModifiers().contains(Modifier.PRIVATE)
+                || current.getNestingKind() == NestingKind.LOCAL
+                || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+
+            element = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    /**
+     * Maps the fields of the class with the same rules of the runtime annotation mapping.
+     */
+    private Map<String, DiffFieldMapping> mapType(TypeElement type) {
+        Map<String, DiffFieldMapping> mappings = new LinkedHashMap<>();
+        List<ExecutableElement> methods = publicMethods(type);
+
+        // the runtime mapping sorts the methods by name, so the results of the differ have the same order
+        methods.sort(Comparator.comparing(method -> method.getSimpleName().toString()));
+
+        if (type.getAnnotation(DiffMappings.class) != null) {
+            for (ExecutableElement method : methods) {
+                if (isGetter(method) && method.getAnnotation(DiffIgnore.class) == null) {
+                    mapDefault(type, mappings, method);
+                }
+            }
+        } else {
+            for (ExecutableElement method : methods) {
+                for (AnnotationMirror mapping : diffMappings(method)) {
+                    mapAnnotation(type, mappings, method, mapping);
+                }
+            }
+        }
+
+        for (DiffFieldMapping mapping : mappings.values()) {
+            String methodName = mapping.getGetters().get(0).getMethodName();
+
+            for (ExecutableElement method : methods) {
+                DiffOrder order = method.getAnnotation(DiffOrder.class);
+
+                if (order != null && method.getSimpleName().contentEquals(methodName) && method.getParameters().isEmpty()) {
+                    mapping.setOrder(order.value());
+                }
+            }
+        }
+
+        return mappings;
+    }
+
+    private void mapDefault(TypeElement type, Map<String, DiffFieldMapping> mappings, ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        boolean collection = isCollection(method.getReturnType());
+        String comparator = collection ? IndexComparator.class.getName() : EqualsComparator.class.getName();
+
+        mappings.put(name, field(type, name, comparator, Collections.emptyMap()));
+    }
+
+    private void mapAnnotation(
+        TypeElement type,
+        Map<String, DiffFieldMapping> mappings,
+        ExecutableElement method,
+        AnnotationMirror annotation) {
+
+        String name = method.getSimpleName().toString();
+        String value = stringValue(annotation, "value");
+        String comparator = comparatorValue(annotation, method);
+
+        if (!method.getParameters().isEmpty()) {
+            throw new DiffProcessingException("Method " + name + " must be public and no-args.", method);
+        }
+
+        if (isCollection(method.getReturnType())) {
+            mappings.put(name, field(type, name, comparator, Collections.emptyMap()));
+
+            if (!value.isEmpty()) {
+                mappings.remove(name);
+                mappings.put(name + "." + value, field(type, name + "." + value, comparator, Collections.emptyMap()));
+            }
+
+            return;
+        }
+
+        String field = value.isEmpty() ? name : name + "." + value;
+        mappings.put(field, field(type, field, comparator, propertiesValue(annotation)));
+    }
+
+    /**
+     * Resolves the getters of a field name, like the runtime {@code map(name, comparator)} does.
+     */
+    private DiffFieldMapping field(TypeElement type, String name, String comparator, Map<String, String> properties) {
+        String[] fields = name.split(REGEX_PROPERTY_SEPARATOR);
+        List<DiffGetterStep> getters = new ArrayList<>();
+        List<DiffGetterStep> elementGetters = new ArrayList<>();
+        TypeMirror ownerType = type.asType();
+        ExecutableElement method = discoverGetter(ownerType, fields[0], type);
+        TypeMirror valueType = returnType(ownerType, method);
+        boolean collection = isCollection(valueType);
+
+        getters.add(new DiffGetterStep(typeName(ownerType), method.getSimpleName().toString()));
+
+        if (collection && fields.length > 1) {
+            ownerType = collectionElementType(valueType, type);
+        } else {
+            ownerType = valueType;
+        }
+
+        List<DiffGetterStep> nestedGetters = collection ? elementGetters : getters;
+
+        for (int i = 1; i < fields.length; i++) {
+            method = discoverGetter(ownerType, fields[i], type);
+            nestedGetters.add(new DiffGetterStep(typeName(ownerType), method.getSimpleName().toString()));
+            ownerType = returnType(ownerType, method);
+        }
+
+        Map<String, String> fieldProperties = new LinkedHashMap<>();
+        fieldProperties.put("field", name);
+        fieldProperties.putAll(properties);
+
+        return new DiffFieldMapping(name, collection, getters, elementGetters, comparator, fieldProperties);
+    }
+
+    private ExecutableElement discoverGetter(TypeMirror ownerType, String fieldOrMethodName, TypeElement type) {
+        String methodName = fieldOrMethodName;
+
+        if (!fieldOrMethodName.startsWith(GET_METHOD_PREFIX)) {
+            methodName = GET_METHOD_PREFIX + Character.toUpperCase(fieldOrMethodName.charAt(0)) + fieldOrMethodName.substring(1);
+        }
+
+        TypeElement ownerElement = asTypeElement(ownerType);
+
+        if (ownerElement != null) {
+            for (ExecutableElement method : publicMethods(ownerElement)) {
+                if (method.getSimpleName().contentEquals(methodName) && isGetter(method)) {
+                    return method;
+                }
+            }
+        }
+
+        throw new DiffProcessingException(
+            "Method " + methodName + " not found or is not public and non-args in class " + ownerType,
+            type
+        );
+    }
+
+    /**
+     * Gets the public instance methods of the class, keeping the most specific declaration of each method.
+     */
+    private List<ExecutableElement> publicMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+
+            if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)) {
+                methods.add(method);
+            }
+        }
+
+        return methods;
+    }
+
+    private static boolean isGetter(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+
+        return name.startsWith(GET_METHOD_PREFIX)
+            && !name.equals("getClass")
+            && method.getParameters().isEmpty()
+            && method.getReturnType().getKind() != TypeKind.VOID;
+    }
+
+    private TypeMirror returnType(TypeMirror ownerType, ExecutableElement method) {
+        if (ownerType.getKind() == TypeKind.DECLARED) {
+            TypeMirror memberType = processingEnv.getTypeUtils().asMemberOf((DeclaredType) ownerType, method);
+            return ((ExecutableType) memberType).getReturnType();
+        }
+
+        return method.getReturnType();
+    }
+
+    private boolean isCollection(TypeMirror type) {
+        TypeElement collectionElement = processingEnv.getElementUtils().getTypeElement(Collection.class.getName());
+        TypeMirror collectionType = processingEnv.getTypeUtils().erasure(collectionElement.asType());
+
+        return type.getKind() == TypeKind.DECLARED
+            && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type), collectionType);
+    }
+
+    /**
+     * Finds the element type of the collection, looking for the type argument of {@link Collection}.
+     */
+    private TypeMirror collectionElementType(TypeMirror type, TypeElement owner) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            TypeElement element = (TypeElement) declaredType.asElement();
+
+            if (element.getQualifiedName().contentEquals(Collection.class.getName())) {
+                if (declaredType.getTypeArguments().size() == 1) {
+                    return upperBound(declaredType.getTypeArguments().get(0));
+                }
+            } else {
+                for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+                    if (isCollection(supertype)) {
+                        return collectionElementType(supertype, owner);
+                    }
+                }
+            }
+        }
+
+        throw new DiffProcessingException("The element type of the collection " + type + " can't be resolved", owner);
+    }
+
+    private static TypeMirror upperBound(TypeMirror type) {
+        if (type.getKind() == TypeKind.WILDCARD && ((WildcardType) type).getExtendsBound() != null) {
+            return upperBound(((WildcardType) type).getExtendsBound());
+        }
+
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return upperBound(((TypeVariable) type).getUpperBound());
+        }
+
+        return type;
+    }
+
+    private TypeElement asTypeElement(TypeMirror type) {
+        TypeMirror bound = upperBound(type);
+
+        if (bound.getKind() == TypeKind.DECLARED) {
+            return (TypeElement) ((DeclaredType) bound).asElement();
+        }
+
+        return null;
+    }
+
+    private String typeName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(upperBound(type)).toString();
+    }
+
+    private static List<AnnotationMirror> diffMappings(ExecutableElement method) {
+        List<AnnotationMirror> mappings = new ArrayList<>();
+
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            String annotationName = annotationName(annotation);
+
+            if (annotationName.equals(DiffMapping.class.getName())) {
+                mappings.add(annotation);
+            } else if (annotationName.equals(DiffMappings.class.getName())) {
+                for (Object value : listValue(annotation, "value")) {
+                    mappings.add((AnnotationMirror) ((AnnotationValue) value).getValue());
+                }
+            }
+        }
+
+        return mappings;
+    }
+
+    private static String annotationName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private String stringValue(AnnotationMirror annotation, String name) {
+        return (String) annotationValue(annotation, name).getValue();
+    }
+
+    private String comparatorValue(AnnotationMirror annotation, ExecutableElement method) {
+        TypeMirror comparator = (TypeMirror) annotationValue(annotation, "comparator").getValue();
+        TypeElement comparatorElement = asTypeElement(comparator);
+
+        if (comparatorElement == null || !comparatorElement.getModifiers().contains(Modifier.PUBLIC)
+            || comparatorElement.getModifiers().contains(Modifier.ABSTRACT) || !hasPublicConstructor(comparatorElement)) {
+            throw new DiffProcessingException("Comparator " + comparator + " must be public with a public no-args constructor", method);
+        }
+
+        return typeName(comparator);
+    }
+
+    private static boolean hasPublicConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Map<String, String> propertiesValue(AnnotationMirror annotation) {
+        Map<String, String> properties = new LinkedHashMap<>();
+
+        for (Object value : listValue(annotation, "properties")) {
+            AnnotationMirror property = (AnnotationMirror) ((AnnotationValue) value).getValue();
+            properties.put(stringValue(property, "key"), stringValue(property, "value"));
+        }
+
+        return properties;
+    }
+
+    private static List<?> listValue(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return (List<?>) entry.getValue().getValue();
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    private AnnotationValue annotationValue(AnnotationMirror annotation, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+            processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+
+        throw new IllegalStateException("Annotation value " + name + " not found in " + annotation);
+    }
+
+    /**
+     * Registers the generated differs, keeping the differs registered by previous compilations while their class and
+     * the class they compare are still in the output. Each line has the class compared by the differ as a comment, so
+     * the differs of classes deleted, renamed or no longer mapped are removed by incremental compilations.
+     */
+    private void writeServiceFile() {
+        Map<String, String> differs = new TreeMap<>(generatedDiffers);
+        boolean changed = !generatedDiffers.isEmpty();
+
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+
+            try (Reader reader = existing.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                for (String line : (Iterable<String>) lines.lines()::iterator) {
+                    String[] entry = line.split(SERVICE_COMMENT, 2);
+                    String differ = entry[0].trim();
+                    String type = entry.length > 1 ? entry[1].trim() : null;
+
+                    if (differ.isEmpty() || differs.containsKey(differ)) {
+                        continue;
+                    }
+
+                    if (isRegistered(differ, type)) {
+                        differs.put(differ, type);
+                    } else {
+                        changed = true;
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no service file from a previous compilation
+        }
+
+        if (!changed) {
+            return;
+        }
+
+        try {
+            FileObject serviceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+
+            try (Writer writer = serviceFile.openWriter()) {
+                for (Map.Entry<String, String> differ : differs.entrySet()) {
+                    writer.write(differ.getKey());
+
+                    if (differ.getValue() != null) {
+                        writer.write(" " + SERVICE_COMMENT + " " + differ.getValue());
+                    }
+
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks if a differ of a previous compilation is still valid: the classes compiled now have their differs
+     * generated again, so only the differs of the other classes with both classes in the output are kept.
+     */
+    private boolean isRegistered(String differ, String type) {
+        if (type == null) {
+            return isInOutput(differ);
+        }
+
+        return !compiledTypes.contains(type) && isInOutput(differ) && isInOutput(type);
+    }
+
+    private boolean isInOutput(String binaryName) {
+        int separator = binaryName.lastIndexOf('.');
+        String packageName = separator < 0 ? "" : binaryName.substring(0, separator);
+        String fileName = binaryName.substring(separator + 1) + JavaFileObject.Kind.CLASS.extension;
+
+        try {
+            FileObject classFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, packageName, fileName);
+
+            try (InputStream ignored = classFile.openInputStream()) {
+                return true;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.jonpereiradev.diffobjects.processor;
+
+
+import javax.lang.model.element.Element;
+
+
+/**
+ * Exception thrown when a mapping can't be resolved at compile time.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffProcessingException extends RuntimeException {
+
+    private final transient Element element;
+
+    DiffProcessingException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    /**
+     * @return the element reported in the compiler warning.
+     */
+    Element getElement() {
+        return element;
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.github.jonpereiradev.diffobjects.processor;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffDiffer;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+
+class DiffMappingProcessorTest {
+
+    private static final String ORDER_SOURCE = String.join("\n",
+        "package sample;",
+        "import com.github.jonpereiradev.diffobjects.annotation.*;",
+        "import com.github.jonpereiradev.diffobjects.comparator.EqualsIgnoreCaseComparator;",
+        "import java.util.List;",
+        "import sample.Models.Customer;",
+        "import sample.Models.Item;",
+        "public class Order {",
+        "    private final String code; private final Customer customer; private final List<Item> items; private final int quantity;",
+        "    public Order(String code, Customer customer, List<Item> items, int quantity) {",
+        "        this.code = code; this.customer = customer; this.items = items; this.quantity = quantity;",
+        "    }",
+        "    @DiffOrder(2)",
+        "    @DiffMapping(comparator = EqualsIgnoreCaseComparator.class, properties = @DiffProperty(key = \"label\", value = \"Code\"))",
+        "    public String getCode() { return code; }",
+        "    @DiffOrder(1)",
+        "    @DiffMapping(\"address.city\")",
+        "    public Customer getCustomer() { return customer; }",
+        "    @DiffMapping(\"name\")",
+        "    public List<Item> getItems() { return items; }",
+        "    @DiffOrder(3)",
+        "    @DiffMapping",
+        "    public int getQuantity() { return quantity; }",
+        "}");
+
+    private static final String MODEL_SOURCE = String.join("\n",
+        "package sample;",
+        "public class Models {",
+        "    static Order first() {",
+        "        return new Order(\"abc\", new Customer(new Address(\"City\")), java.util.List.of(new Item(\"A\")), 1);",
+        "    }",
+        "    static Order second() {",
+        "        return new Order(\"ABC\", new Customer(null), java.util.List.of(new Item(\"B\")), 2);",
+        "    }",
+        "    public static class Customer {",
+        "        private final Address address;",
+        "        Customer(Address address) { this.address = address; }",
+        "        public Address getAddress() { return address; }",
+        "    }",
+        "    public static class Address {",
+        "        private final String city;",
+        "        Address(String city) { this.city = city; }",
+        "        public String getCity() { return city; }",
+        "    }",
+        "    public static class Item {",
+        "        private final String name;",
+        "        Item(String name) { this.name = name; }",
+        "        public String getName() { return name; }",
+        "    }",
+        "}");
+
+    private static final String RAW_SOURCE = String.join("\n",
+        "package sample;",
+        "import com.github.jonpereiradev.diffobjects.annotation.DiffMapping;",
+        "public class RawElement {",
+        "    @DiffMapping(\"name\")",
+        "    public java.util.List getValues() { return null; }",
+        "}");
+
+    private static final String UNORDERED_SOURCE = String.join("\n",
+        "package sample;",
+        "import com.github.jonpereiradev.diffobjects.annotation.DiffMapping;",
+        "public class Unordered {",
+        "    @DiffMapping",
+        "    public String getZeta() { return \"z\"; }",
+        "    @DiffMapping",
+        "    public String getBeta() { return \"b\"; }",
+        "    @DiffMapping",
+        "    public String getAlpha() { return \"a\"; }",
+        "}");
+
+    @TempDir
+    Path output;
+
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeEach
+    void beforeEach() {
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    void testProcessorMustGenerateDifferSource() throws Exception {
+        compile(source("sample.Order", ORDER_SOURCE), source("sample.Models", MODEL_SOURCE));
+
+        Assertions.assertTrue(Files.exists(output.resolve("sample/Differ_Order.class")));
+        Assertions.assertTrue(Files.readString(output.resolve("META-INF/services/" + DiffDiffer.class.getName())).contains("sample.Differ_Order"));
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testGeneratedDifferMustReturnSameResultsAsRuntimeMapping() throws Exception {
+        compile(source("sample.Order", ORDER_SOURCE), source("sample.Models", MODEL_SOURCE));
+
+        try (URLClassLoader loader = newClassLoader()) {
+            Class type = loader.loadClass("sample.Order");
+            Object first = invokeModel(loader, "first");
+            Object second = invokeModel(loader, "second");
+            DiffDiffer differ = findDiffer(loader, type);
+            DiffConfig config = DiffConfigBuilder.forClass(type).mapping().annotations().build();
+            DiffResults expected = DiffObjects.forClass(type).diff(first, second, config);
+            DiffResults results = differ.diff(first, second);
+
+            Assertions.assertEquals(expected.size(), results.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                DiffResult expectedResult = expected.getResults().get(i);
+                DiffResult result = results.getResults().get(i);
+
+                Assertions.assertEquals(expectedResult.getField(), result.getField());
+                Assertions.assertEquals(expectedResult.getExpected(), result.getExpected());
+                Assertions.assertEquals(expectedResult.getCurrent(), result.getCurrent());
+                Assertions.assertEquals(expectedResult.isEquals(), result.isEquals());
+                Assertions.assertEquals(expectedResult.getProperty("label"), result.getProperty("label"));
+            }
+
+            Assertions.assertEquals("getItems.name", results.getResults().get(0).getField());
+            Assertions.assertEquals("getCustomer.address.city", results.getResults().get(1).getField());
+            Assertions.assertEquals("Code", results.getResults().get(2).getProperty("label"));
+            DiffResults changes = differ.diffChanges(first, second);
+            DiffResults expectedChanges = DiffObjects.forClass(type).diffChanges(first, second, config);
+
+            Assertions.assertEquals(expectedChanges.size(), changes.size());
+            Assertions.assertTrue(changes.stream().noneMatch(DiffResult::isEquals));
+            Assertions.assertTrue(differ.diffChanges(first, first).isEmpty());
+            Assertions.assertFalse(differ.isEquals(first, second));
+            Assertions.assertTrue(differ.isEquals(first, first));
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testDiffObjectsMustUseGeneratedDiffer() throws Exception {
+        compile(source("sample.Order", ORDER_SOURCE), source("sample.Models", MODEL_SOURCE));
+
+        try (URLClassLoader loader = newClassLoader()) {
+            Class type = loader.loadClass("sample.Order");
+            Object first = invokeModel(loader, "first");
+            Object second = invokeModel(loader, "second");
+            DiffObjects diffObjects = DiffObjects.forClass(type);
+
+            Assertions.assertNotNull(findDiffer(loader, type));
+            Assertions.assertEquals(4, diffObjects.diff(first, second).size());
+            Assertions.assertFalse(diffObjects.isEquals(first, second));
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testGeneratedDifferMustOrderFieldsAsRuntimeMapping() throws Exception {
+        compile(source("sample.Unordered", UNORDERED_SOURCE));
+
+        try (URLClassLoader loader = newClassLoader()) {
+            Class type = loader.loadClass("sample.Unordered");
+            Object object = type.getConstructor().newInstance();
+            DiffConfig config = DiffConfigBuilder.forClass(type).mapping().annotations().build();
+            DiffResults expected = DiffObjects.forClass(type).diff(object, object, config);
+            DiffResults results = findDiffer(loader, type).diff(object, object);
+
+            Assertions.assertEquals(3, results.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.getResults().get(i).getField(), results.getResults().get(i).getField());
+            }
+
+            Assertions.assertEquals("getAlpha", results.getResults().get(0).getField());
+            Assertions.assertEquals("getZeta", results.getResults().get(2).getField());
+        }
+    }
+
+    @Test
+    void testIncrementalCompilationMustKeepOnlyTheDiffersOfExistingClasses() throws Exception {
+        Path serviceFile = output.resolve("META-INF/services/" + DiffDiffer.class.getName());
+
+        compile(source("sample.Order", ORDER_SOURCE), source("sample.Models", MODEL_SOURCE));
+        compile(source("sample.Unordered", UNORDERED_SOURCE));
+
+        Assertions.assertTrue(Files.readString(serviceFile).contains("sample.Differ_Order"));
+        Assertions.assertTrue(Files.readString(serviceFile).contains("sample.Differ_Unordered"));
+
+        // the class is deleted, but its differ is still in the output
+        Files.delete(output.resolve("sample/Order.class"));
+        compile(source("sample.Unordered", UNORDERED_SOURCE));
+
+        Assertions.assertFalse(Files.readString(serviceFile).contains("sample.Differ_Order"));
+        Assertions.assertTrue(Files.readString(serviceFile).contains("sample.Differ_Unordered"));
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testDiffObjectsMustSkipDiffersThatCantBeLoaded() throws Exception {
+        Path serviceFile = output.resolve("META-INF/services/" + DiffDiffer.class.getName());
+
+        compile(source("sample.Unordered", UNORDERED_SOURCE));
+        Files.writeString(serviceFile, "sample.Differ_Deleted\n" + Files.readString(serviceFile));
+
+        try (URLClassLoader loader = newClassLoader()) {
+            Class type = loader.loadClass("sample.Unordered");
+            Object object = type.getConstructor().newInstance();
+
+            Assertions.assertEquals(3, DiffObjects.forClass(type).diff(object, object).size());
+        }
+    }
+
+    @Test
+    void testProcessorMustWarnWhenMappingCantBeResolved() throws Exception {
+        compile(source("sample.RawElement", RAW_SOURCE));
+
+        boolean warned = diagnostics.getDiagnostics().stream()
+            .anyMatch((diagnostic) -> diagnostic.getKind() == Diagnostic.Kind.WARNING);
+
+        Assertions.assertTrue(warned);
+        Assertions.assertFalse(Files.exists(output.resolve("sample/Differ_RawElement.class")));
+    }
+
+    private void compile(JavaFileObject... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            File library = new File(DiffObjects.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+            fileManager.setLocation(StandardLocation.CLASS_PATH, Collections.singletonList(library));
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output.toFile()));
+
+            List<String> options = new ArrayList<>(Arrays.asList("-Xlint:-options", "-source", "11", "-target", "11"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, Arrays.asList(sources));
+
+            task.setProcessors(Collections.singletonList(new DiffMappingProcessor()));
+
+            Assertions.assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+    }
+
+    private URLClassLoader newClassLoader() throws Exception {
+        return new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static Object invokeModel(ClassLoader loader, String name) throws Exception {
+        java.lang.reflect.Method method = loader.loadClass("sample.Models").getDeclaredMethod(name);
+        method.setAccessible(true);
+        return method.invoke(null);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static DiffDiffer findDiffer(ClassLoader loader, Class<?> type) {
+        for (DiffDiffer differ : ServiceLoader.load(DiffDiffer.class, loader)) {
+            if (differ.getType() == type) {
+                return differ;
+            }
+        }
+
+        return null;
+    }
+
+    private static JavaFileObject source(String className, String source) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,417 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.strategy.DiffHashes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * Baseline of the mapped fields of a collection persisted in a file and read through a memory-mapped buffer.
+ * <p>
+ * The file keeps a record for each object, packed like the records of {@link DiffSnapshotStore}, and an index of the
+ * records sorted by the hash of their keys, so an object is found with a binary search over the mapped file without
+ * reading the baseline onto the heap. The index keeps the key of each record in the string table of the file, so
+ * records whose keys have the same hash are told apart by their keys. The header of the file has a format version and
+ * the fingerprint of the field layout of the plan, so opening a baseline with a changed mapping throws a
+ * {@link DiffException}. The header is written last, so a file not written to the end is not opened as a baseline.
+ * <p>
+ * The keys must be strings, numbers, booleans, characters, enums or UUIDs. The values that are not stored inline are
+ * packed as the hashes of {@link DiffHashes#stableHash(Object)}, which are the same across runs, so the fields with
+ * values that have no stable hash, like the objects of the application, can't be written to a baseline.
+ *
+ * @param <T> the type of the objects of the baseline
+ *
+ * @author Jonathan Pereira
+ * @see DiffSnapshotStore
+ * @since 1.4.0
+ */
+public final class DiffBaseline<T> {
+
+    private static final int MAGIC = 0x44494646;
+    private static final int VERSION = 2;
+
+    private static final int MAGIC_POSITION = 0;
+    private static final int VERSION_POSITION = 4;
+    private static final int FINGERPRINT_POSITION = 8;
+    private static final int RECORD_COUNT_POSITION = 16;
+    private static final int STRING_COUNT_POSITION = 20;
+    private static final int HEADER_SIZE = 24;
+
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int INDEX_RECORD_POSITION = Long.BYTES;
+    private static final int INDEX_KEY_POSITION = Long.BYTES + Integer.BYTES;
+
+    private final DiffRecordLayout layout;
+    private final DiffKey<T, ?> key;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int recordsPosition;
+    private final int stringOffsetsPosition;
+    private final int stringsPosition;
+
+    private DiffBaseline(DiffRecordLayout layout, DiffKey<T, ?> key, ByteBuffer buffer) {
+        this.layout = layout;
+        this.key = key;
+        this.buffer = buffer;
+        this.size = buffer.getInt(RECORD_COUNT_POSITION);
+        this.recordsPosition = HEADER_SIZE + size * INDEX_ENTRY_SIZE;
+        this.stringOffsetsPosition = recordsPosition + size * layout.getRecordSize();
+        this.stringsPosition = stringOffsetsPosition + (buffer.getInt(STRING_COUNT_POSITION) + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Writes the baseline of a collection to a file, replacing the file if it exists.
+     *
+     * @param file the file of the baseline.
+     * @param objects the objects of the baseline.
+     * @param config the diff configuration metadata.
+     * @param key the key that identifies each object.
+     * @param <T> the type of the objects.
+     *
+     * @throws DiffException if two objects have the same key, a key is not supported, a field has no stable hash or
+     * can be hashed with a custom comparator, or the file can't be written.
+     */
+    public static <T> void write(Path file, Collection<T> objects, DiffConfig config, DiffKey<T, ?> key) {
+        requireNonNull(file, "File is required");
+        requireNonNull(objects, "Objects are required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(key, "Key is required");
+
+        DiffRecordLayout layout = new DiffRecordLayout(config.getPlan(), true);
+        DiffStringDictionary strings = new DiffStringDictionary();
+        int size = objects.size();
+        long recordsPosition = HEADER_SIZE + (long) size * INDEX_ENTRY_SIZE;
+        long stringOffsetsPosition = recordsPosition + (long) size * layout.getRecordSize();
+
+        checkSize(stringOffsetsPosition);
+
+        try (FileChannel channel = FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, stringOffsetsPosition);
+            long[][] index = new long[size][];
+            int record = 0;
+
+            for (T object : objects) {
+                int offset = (int) recordsPosition + record * layout.getRecordSize();
+                Object objectKey = checkKey(key.getKey(object));
+
+                index[record] = new long[]{DiffHashes.stableHash(objectKey), record, strings.id(keyString(objectKey))};
+                layout.write(buffer, offset, object, strings::id);
+                record++;
+            }
+
+            writeIndex(buffer, index, strings);
+
+            ByteBuffer stringSection = strings(strings);
+            checkSize(stringOffsetsPosition + stringSection.remaining());
+
+            while (stringSection.hasRemaining()) {
+                channel.write(stringSection, stringOffsetsPosition + stringSection.position());
+            }
+
+            // the header is written after the rest of the file is on the disk, so a partial file has no valid header
+            buffer.force();
+            channel.force(true);
+
+            buffer.putInt(MAGIC_POSITION, MAGIC);
+            buffer.putInt(VERSION_POSITION, VERSION);
+            buffer.putLong(FINGERPRINT_POSITION, layout.getFingerprint());
+            buffer.putInt(RECORD_COUNT_POSITION, size);
+            buffer.putInt(STRING_COUNT_POSITION, strings.size());
+            buffer.force();
+        } catch (IOException e) {
+            throw new DiffException("The baseline " + file + " can't be written.", e);
+        }
+    }
+
+    /**
+     * Writes the index entries sorted by the hash of the keys, with the keys of the same hash told apart by their
+     * strings.
+     */
+    private static void writeIndex(ByteBuffer buffer, long[][] index, DiffStringDictionary strings) {
+        Arrays.sort(index, Comparator.comparingLong(entry -> entry[0]));
+
+        for (int i = 0; i < index.length; i++) {
+            for (int j = i - 1; j >= 0 && index[j][0] == index[i][0]; j--) {
+                if (index[j][2] == index[i][2]) {
+                    throw new DiffException("The objects of a baseline must have distinct keys, but the key "
+                        + strings.get((int) index[i][2]) + " is repeated.");
+                }
+            }
+
+            int position = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+            buffer.putLong(position, index[i][0]);
+            buffer.putInt(position + INDEX_RECORD_POSITION, (int) index[i][1]);
+            buffer.putInt(position + INDEX_KEY_POSITION, (int) index[i][2]);
+        }
+    }
+
+    /**
+     * Encodes the strings of the dictionary as the offsets of each string followed by their UTF-8 bytes.
+     */
+    private static ByteBuffer strings(DiffStringDictionary strings) {
+        byte[][] values = new byte[strings.size()][];
+        int length = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            length += values[i].length;
+        }
+
+        ByteBuffer section = ByteBuffer.allocate((values.length + 1) * Integer.BYTES + length);
+        int offset = 0;
+
+        for (byte[] value : values) {
+            section.putInt(offset);
+            offset += value.length;
+        }
+
+        section.putInt(offset);
+
+        for (byte[] value : values) {
+            section.put(value);
+        }
+
+        return section.flip();
+    }
+
+    /**
+     * Checks that a key has an encoding that is the same across runs.
+     */
+    private static Object checkKey(Object key) {
+        if (key == null) {
+            throw new DiffException("The key of an object of a baseline is required.");
+        }
+
+        if (!(key instanceof String
+            || key instanceof Enum
+            || key instanceof Boolean
+            || key instanceof Character
+            || key instanceof UUID
+            || key instanceof Number && key.getClass().getName().startsWith("java."))) {
+            throw new DiffException("The key of a baseline must be a string, a number, a boolean, a character, an enum"
+                + " or a UUID, but it is a " + key.getClass().getName() + ".");
+        }
+
+        return key;
+    }
+
+    /**
+     * Encodes a key as the string stored in the index.
+     */
+    private static String keyString(Object key) {
+        return key instanceof Enum ? ((Enum<?>) key).name() : key.toString();
+    }
+
+    private static void checkSize(long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new DiffException("The baseline has more than " + Integer.MAX_VALUE + " bytes.");
+        }
+    }
+
+    /**
+     * Opens the baseline of a file, mapping the file into memory.
+     *
+     * @param file the file of the baseline.
+     * @param config the diff configuration metadata, with the same mapping used to write the baseline.
+     * @param key the key that identifies each object.
+     * @param <T> the type of the objects.
+     *
+     * @return the baseline of the file.
+     *
+     * @throws DiffException if the file is not a baseline, has another version or was written with another mapping.
+     */
+    public static <T> DiffBaseline<T> open(Path file, DiffConfig config, DiffKey<T, ?> key) {
+        requireNonNull(file, "File is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(key, "Key is required");
+
+        DiffRecordLayout layout = new DiffRecordLayout(config.getPlan(), true);
+        MappedByteBuffer buffer;
+
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkSize(channel.size());
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new DiffException("The baseline " + file + " can't be read.", e);
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(MAGIC_POSITION) != MAGIC) {
+            throw new DiffException("The file " + file + " is not a baseline.");
+        }
+
+        if (buffer.getInt(VERSION_POSITION) != VERSION) {
+            throw new DiffException("The baseline " + file + " has the version " + buffer.getInt(VERSION_POSITION)
+                + ", but only the version " + VERSION + " is supported.");
+        }
+
+        if (buffer.getLong(FINGERPRINT_POSITION) != layout.getFingerprint()) {
+            throw new DiffException("The baseline " + file + " was written with another mapping of the fields.");
+        }
+
+        return new DiffBaseline<>(layout, key, buffer);
+    }
+
+    /**
+     * Gets the number of objects of the baseline.
+     *
+     * @return the number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the baseline has an object with the key of an object.
+     *
+     * @param object the object with the key.
+     *
+     * @return {@code true} if the baseline has a record for the key.
+     */
+    public boolean contains(T object) {
+        requireNonNull(object, "Object is required");
+        return find(object) >= 0;
+    }
+
+    /**
+     * Checks if any field of an object is different from its record in the baseline, stopping on the first difference.
+     *
+     * @param current the current state of the object.
+     *
+     * @return {@code true} if any field changed or the baseline has no object with the key, {@code false} otherwise.
+     */
+    public boolean isDirty(T current) {
+        requireNonNull(current, "Current state is required");
+        int record = find(current);
+
+        if (record < 0) {
+            return true;
+        }
+
+        int offset = offset(record);
+
+        for (int i = 0; i < layout.getPlan().size(); i++) {
+            if (!layout.isEquals(i, buffer, offset, current, this::string)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks which fields of an object are different from its record, with one bit per field in the order of the plan.
+     *
+     * @param current the current state of the object.
+     *
+     * @return the set with the bits of the fields with differences set.
+     *
+     * @throws DiffException if the baseline has no object with the key.
+     * @see DiffPlan#getField(int)
+     */
+    public BitSet changeSet(T current) {
+        requireNonNull(current, "Current state is required");
+        int record = find(current);
+
+        if (record < 0) {
+            throw new DiffException("The baseline has no object with the key " + key.getKey(current) + ".");
+        }
+
+        int offset = offset(record);
+        BitSet changes = new BitSet(layout.getPlan().size());
+
+        for (int i = 0; i < layout.getPlan().size(); i++) {
+            if (!layout.isEquals(i, buffer, offset, current, this::string)) {
+                changes.set(i);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Finds the record of the key of an object with a binary search over the index, comparing the keys of the entries
+     * with the same hash.
+     */
+    private int find(T object) {
+        Object objectKey = checkKey(key.getKey(object));
+        long hash = DiffHashes.stableHash(objectKey);
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleHash = buffer.getLong(HEADER_SIZE + middle * INDEX_ENTRY_SIZE);
+
+            if (middleHash < hash) {
+                low = middle + 1;
+            } else if (middleHash > hash) {
+                high = middle - 1;
+            } else {
+                return find(middle, hash, keyString(objectKey));
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Scans the run of entries with the same hash around an entry for the entry of a key.
+     */
+    private int find(int entry, long hash, String keyString) {
+        int first = entry;
+
+        while (first > 0 && buffer.getLong(HEADER_SIZE + (first - 1) * INDEX_ENTRY_SIZE) == hash) {
+            first--;
+        }
+
+        for (int i = first; i < size; i++) {
+            int position = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+
+            if (buffer.getLong(position) != hash) {
+                break;
+            }
+
+            if (keyString.equals(string(buffer.getInt(position + INDEX_KEY_POSITION)))) {
+                return buffer.getInt(position + INDEX_RECORD_POSITION);
+            }
+        }
+
+        return -1;
+    }
+
+    private int offset(int record) {
+        return recordsPosition + record * layout.getRecordSize();
+    }
+
+    private String string(int id) {
+        int position = stringOffsetsPosition + id * Integer.BYTES;
+        int start = buffer.getInt(position);
+        int end = buffer.getInt(position + Integer.BYTES);
+        byte[] value = new byte[end - start];
+
+        buffer.duplicate().position(stringsPosition + start).get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Splits a batch of indexes into chunks executed by an executor.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffBatch {
+
+    private static final int MIN_CHUNK_SIZE = 64;
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    private DiffBatch() {
+    }
+
+    /**
+     * Executes the action for each index from {@code 0} to {@code size}, waiting for all of them to finish.
+     * <p>
+     * The indexes are split into a few chunks per processor, so the workers balance uneven chunks without paying
+     * a task per index. Batches that fit in a single chunk are executed by the calling thread.
+     *
+     * @param size the number of indexes.
+     * @param executor the executor of the chunks.
+     * @param action the action executed for each index.
+     */
+    static void forEach(int size, Executor executor, IntConsumer action) {
+        int chunks = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + chunks - 1) / chunks);
+
+        if (size <= chunkSize) {
+            forEach(0, size, action);
+            return;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(size / chunkSize + 1);
+
+        for (int start = 0; start < size; start += chunkSize) {
+            int from = start;
+            int to = Math.min(size, start + chunkSize);
+
+            futures.add(CompletableFuture.runAsync(() -> forEach(from, to, action), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw new DiffException("The batch diff failed.", e.getCause());
+        }
+    }
+
+    private static void forEach(int from, int to, IntConsumer action) {
+        for (int i = from; i < to; i++) {
+            action.accept(i);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+/**
+ * Receives the results of a batch diff as each pair of objects is checked.
+ * <p>
+ * The listener is called from the threads of the executor, in no particular order, so it must be thread-safe.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#diffAll(java.util.List, java.util.List, DiffConfig, java.util.concurrent.Executor, DiffBatchListener)
+ * @since 1.4.0
+ */
+@FunctionalInterface
+public interface DiffBatchListener {
+
+    /**
+     * Called with the results of a pair of objects.
+     *
+     * @param index the position of the pair in the expected and current lists.
+     * @param results the diff results of the pair.
+     */
+    void onResults(int index, DiffResults results);
+
+}
@@ -0,0 +1,37 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.lang.invoke.MethodHandles;
+
+
+/**
+ * Defines the classes generated at runtime in the package of a lookup.
+ * <p>
+ * This implementation is used before Java 21 and defines a class of the class loader of the lookup, which is kept
+ * while the class loader of the library is loaded. The multi-release jar replaces it on Java 21 or later with an
+ * implementation that defines hidden classes, which are unloaded when they are not reachable anymore.
+ *
+ * @author Jonathan Pereira
+ * @see DiffCompiler
+ * @since 1.4.0
+ */
+final class DiffClasses {
+
+    private DiffClasses() {
+    }
+
+    /**
+     * Defines a class in the package of the lookup.
+     *
+     * @param lookup the lookup of a class in the package of the defined class.
+     * @param bytes the class file of the defined class.
+     *
+     * @return the defined class.
+     *
+     * @throws IllegalAccessException if the lookup can't define classes.
+     */
+    static Class<?> define(MethodHandles.Lookup lookup, byte[] bytes) throws IllegalAccessException {
+        return lookup.defineClass(bytes);
+    }
+
+}
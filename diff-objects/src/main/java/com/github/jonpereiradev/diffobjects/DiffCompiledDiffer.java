@@ -0,0 +1,98 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Base class of the differs generated at runtime by {@link DiffCompiler}.
+ * <p>
+ * The generated subclass implements the methods that read the fields, calling the getters of each field directly in
+ * the order of the plan. The comparison and the results of each field are delegated to the {@link DiffPlan}, so the
+ * results are the same as the ones of the plan.
+ *
+ * @param <T> the type of object compared by the differ
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#compiled(Class)
+ * @since 1.4.0
+ */
+abstract class DiffCompiledDiffer<T> implements DiffDiffer<T> {
+
+    private final Class<T> type;
+
+    final DiffPlan plan;
+
+    DiffCompiledDiffer(Class<T> type, DiffPlan plan) {
+        this.type = type;
+        this.plan = plan;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final DiffResults diff(T expected, T current) {
+        List<DiffResult> results = new ArrayList<>(plan.size());
+
+        diffFields(expected, current, results);
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final DiffResults diffChanges(T expected, T current) {
+        DiffPlan.DiffResultsChanges changes = new DiffPlan.DiffResultsChanges();
+
+        diffChangesFields(expected, current, changes);
+        return changes.toResults();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final boolean isEquals(T expected, T current) {
+        return isEqualsFields(expected, current);
+    }
+
+    /**
+     * Adds the result of each field of the plan.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     * @param results the results of the diff.
+     */
+    abstract void diffFields(Object expected, Object current, List<DiffResult> results);
+
+    /**
+     * Adds the results of the fields of the plan with differences.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     * @param changes the results with differences.
+     */
+    abstract void diffChangesFields(Object expected, Object current, DiffPlan.DiffResultsChanges changes);
+
+    /**
+     * Checks if all fields of the plan are equal, stopping on the first difference.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return {@code true} if no difference exists between the objects.
+     */
+    abstract boolean isEqualsFields(Object expected, Object current);
+
+}
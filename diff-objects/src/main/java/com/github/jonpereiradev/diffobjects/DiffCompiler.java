@@ -0,0 +1,712 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Generates a differ class for the plan of a class, with the getters of each field called directly in the order of
+ * the plan.
+ * <p>
+ * The generated class extends {@link DiffCompiledDiffer} and is defined in this package by {@link DiffClasses}: a
+ * hidden class on Java 21 or later, which is unloaded with its differ, or a class of the library class loader on the
+ * older versions. The fields compared inline by the plan are read without its accessors, and the ones compared with
+ * the default {@link EqualsComparator} are compared by {@code isEquals} without the comparator, including the
+ * primitive values, which are not boxed. The other fields execute their strategies through the plan.
+ * <p>
+ * No differ is generated when the class or its getters can't be called from this package, like the classes that are
+ * not public or not visible from the class loader of the library. {@link DiffObjects#compiled(Class)} falls back to
+ * the plan in that case, or when the generated class can't be defined.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#compiled(Class)
+ * @since 1.4.0
+ */
+final class DiffCompiler {
+
+    private static final System.Logger LOGGER = System.getLogger(DiffCompiler.class.getName());
+
+    private static final String PACKAGE = "com/github/jonpereiradev/diffobjects/";
+    private static final String SUPER_CLASS = PACKAGE + "DiffCompiledDiffer";
+    private static final String PLAN_CLASS = PACKAGE + "DiffPlan";
+    private static final String PLAN_DESCRIPTOR = "L" + PLAN_CLASS + ";";
+    private static final String CHANGES_DESCRIPTOR = "L" + PACKAGE + "DiffPlan$DiffResultsChanges;";
+    private static final String OBJECTS_DESCRIPTOR = "Ljava/lang/Object;Ljava/lang/Object;";
+    private static final String LIST_DESCRIPTOR = "Ljava/util/List;";
+
+    private static final int CLASS_VERSION = 55;
+    private static final int MAX_STACK = 6;
+
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ASTORE = 0x3a;
+    private static final int LCMP = 0x94;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int IF_ICMPNE = 0xa0;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+    private static final int FULL_FRAME = 255;
+    private static final int ITEM_OBJECT = 7;
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+    private static final Map<Class<?>, Character> PRIMITIVE_DESCRIPTORS = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+    private static final ClassValue<Optional<DiffDiffer<?>>> DIFFERS = new ClassValue<>() {
+
+        @Override
+        protected Optional<DiffDiffer<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(compile(type, DiffConfigCache.get(type).getPlan()));
+        }
+    };
+
+    static {
+        List<Class<?>> primitives = Arrays.asList(
+            boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class);
+        List<Class<?>> wrappers = Arrays.asList(
+            Boolean.class, Byte.class, Character.class, Short.class,
+            Integer.class, Long.class, Float.class, Double.class);
+        String descriptors = "ZBCSIJFD";
+
+        for (int i = 0; i < primitives.size(); i++) {
+            PRIMITIVE_DESCRIPTORS.put(primitives.get(i), descriptors.charAt(i));
+            WRAPPERS.put(primitives.get(i), wrappers.get(i));
+        }
+    }
+
+    private DiffCompiler() {
+    }
+
+    /**
+     * Gets the differ generated for the annotation mapping of a class, generating it on the first access.
+     *
+     * @param type the class compared by the differ.
+     * @param <T> the type of the class.
+     *
+     * @return the generated differ or {@code null} if the differ can't be generated for the class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DiffDiffer<T> get(Class<T> type) {
+        return (DiffDiffer<T>) DIFFERS.get(type).orElse(null);
+    }
+
+    /**
+     * Removes the differ generated for a class.
+     *
+     * @param type the class compared by the differ.
+     */
+    static void evict(Class<?> type) {
+        DIFFERS.remove(type);
+    }
+
+    /**
+     * Generates the differ class for the plan of a class and creates its instance.
+     *
+     * @param type the class compared by the differ.
+     * @param plan the plan of the fields compared by the differ.
+     * @param <T> the type of the class.
+     *
+     * @return the generated differ or {@code null} if the differ can't be generated for the class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DiffDiffer<T> compile(Class<T> type, DiffPlan plan) {
+        if (!isCompilable(type, plan)) {
+            LOGGER.log(System.Logger.Level.DEBUG, "The getters of " + type.getName() + " can't be compiled.");
+            return null;
+        }
+
+        String className = PACKAGE + "DiffCompiled$" + type.getSimpleName() + "$" + COUNT.incrementAndGet();
+
+        try {
+            byte[] bytes = new DiffClassWriter(className, type, plan).write();
+            Class<?> differClass = DiffClasses.define(MethodHandles.lookup(), bytes);
+
+            return (DiffDiffer<T>) differClass
+                .getDeclaredConstructor(Class.class, DiffPlan.class)
+                .newInstance(type, plan);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(System.Logger.Level.WARNING, "The differ of " + type.getName() + " can't be defined.", e);
+            return null;
+        }
+    }
+
+    private static boolean isCompilable(Class<?> type, DiffPlan plan) {
+        if (plan.size() > Short.MAX_VALUE || type.isArray() || type.isPrimitive() || !isAccessible(type)) {
+            return false;
+        }
+
+        List<DiffMetadata> metadata = plan.getMetadata();
+
+        for (int i = 0; i < metadata.size(); i++) {
+            if (plan.isInline(i) && !isCallable(metadata.get(i).getMethod())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isCallable(Method method) {
+        int modifiers = method.getModifiers();
+        Class<?> returnType = method.getReturnType();
+
+        return Modifier.isPublic(modifiers)
+            && !Modifier.isStatic(modifiers)
+            && method.getParameterCount() == 0
+            && returnType != void.class
+            && (returnType.isPrimitive() || isVisible(returnType));
+    }
+
+    /**
+     * Checks if the class and its enclosing classes are public, exported to this library and visible from its class
+     * loader.
+     */
+    private static boolean isAccessible(Class<?> type) {
+        Module module = DiffCompiler.class.getModule();
+
+        for (Class<?> current = type; current != null; current = current.getDeclaringClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+
+        return module.canRead(type.getModule())
+            && type.getModule().isExported(type.getPackageName(), module)
+            && isVisible(type);
+    }
+
+    /**
+     * Checks if the class loader of the library resolves the name of the class to the same class, so the generated
+     * class links to it.
+     */
+    private static boolean isVisible(Class<?> type) {
+        Class<?> elementType = type;
+
+        while (elementType.isArray()) {
+            elementType = elementType.getComponentType();
+        }
+
+        if (elementType.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(elementType.getName(), false, DiffCompiler.class.getClassLoader()) == elementType;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return internalName(type);
+        }
+
+        if (type.isPrimitive()) {
+            return String.valueOf(PRIMITIVE_DESCRIPTORS.get(type));
+        }
+
+        return "L" + internalName(type) + ";";
+    }
+
+    /**
+     * Writes the class file of a generated differ.
+     * <p>
+     * The generated methods read the fields in the order of the plan. Only {@code isEqualsFields} branches, always to
+     * the same {@code return false}, so its stack map has a single frame.
+     */
+    private static final class DiffClassWriter {
+
+        private final DiffConstantPool pool = new DiffConstantPool();
+        private final String className;
+        private final Class<?> type;
+        private final DiffPlan plan;
+
+        private DiffClassWriter(String className, Class<?> type, DiffPlan plan) {
+            this.className = className;
+            this.type = type;
+            this.plan = plan;
+        }
+
+        byte[] write() {
+            DiffBytes methods = new DiffBytes();
+
+            writeConstructor(methods);
+            writeMethod(methods, "diffFields", "(" + OBJECTS_DESCRIPTOR + LIST_DESCRIPTOR + ")V", writeDiff(false));
+            writeMethod(
+                methods, "diffChangesFields", "(" + OBJECTS_DESCRIPTOR + CHANGES_DESCRIPTOR + ")V", writeDiff(true));
+            writeMethod(methods, "isEqualsFields", "(" + OBJECTS_DESCRIPTOR + ")Z", writeIsEquals());
+
+            int thisClass = pool.classInfo(className);
+            int superClass = pool.classInfo(SUPER_CLASS);
+            DiffBytes classFile = new DiffBytes();
+
+            classFile.u4(0xCAFEBABE);
+            classFile.u2(0);
+            classFile.u2(CLASS_VERSION);
+            pool.write(classFile);
+            classFile.u2(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            classFile.u2(thisClass);
+            classFile.u2(superClass);
+            classFile.u2(0);
+            classFile.u2(0);
+            classFile.u2(4);
+            classFile.bytes(methods);
+            classFile.u2(0);
+
+            return classFile.toByteArray();
+        }
+
+        private void writeConstructor(DiffBytes methods) {
+            DiffCode code = new DiffCode(3);
+
+            code.op(ALOAD_0);
+            code.op(ALOAD_1);
+            code.op(ALOAD_2);
+            code.op(INVOKESPECIAL);
+            code.u2(pool.methodRef(SUPER_CLASS, "<init>", "(Ljava/lang/Class;" + PLAN_DESCRIPTOR + ")V", false));
+            code.op(RETURN);
+
+            writeMethod(methods, "<init>", "(Ljava/lang/Class;" + PLAN_DESCRIPTOR + ")V", code);
+        }
+
+        /**
+         * Writes the body of {@code diffFields} or {@code diffChangesFields}, with the results in the local 3 and the
+         * objects cast to the compared class in the locals 4 and 5.
+         */
+        private DiffCode writeDiff(boolean changes) {
+            DiffCode code = new DiffCode(6);
+            String results = changes ? CHANGES_DESCRIPTOR : LIST_DESCRIPTOR;
+
+            writeCasts(code, 4);
+
+            for (int i = 0; i < plan.size(); i++) {
+                writePlan(code, i);
+
+                if (plan.isInline(i)) {
+                    writeValue(code, 4, i, true);
+                    writeValue(code, 5, i, true);
+                } else {
+                    code.op(ALOAD_1);
+                    code.op(ALOAD_2);
+                }
+
+                code.op(ALOAD);
+                code.u1(3);
+
+                String name = (changes ? "diffChanges" : "diff") + (plan.isInline(i) ? "Value" : "Field");
+                code.op(INVOKEVIRTUAL);
+                code.u2(pool.methodRef(PLAN_CLASS, name, "(I" + OBJECTS_DESCRIPTOR + results + ")V", false));
+            }
+
+            code.op(RETURN);
+            return code;
+        }
+
+        /**
+         * Writes the body of {@code isEqualsFields}, with the objects cast to the compared class in the locals 3 and 4.
+         */
+        private DiffCode writeIsEquals() {
+            DiffCode code = new DiffCode(5);
+
+            writeCasts(code, 3);
+
+            for (int i = 0; i < plan.size(); i++) {
+                if (!plan.isInline(i)) {
+                    writePlan(code, i);
+                    code.op(ALOAD_1);
+                    code.op(ALOAD_2);
+                    code.op(INVOKEVIRTUAL);
+                    code.u2(pool.methodRef(PLAN_CLASS, "isEquals", "(I" + OBJECTS_DESCRIPTOR + ")Z", false));
+                    code.branch(IFEQ);
+                } else if (plan.getComparator(i).getClass() == EqualsComparator.class) {
+                    writeValue(code, 3, i, false);
+                    writeValue(code, 4, i, false);
+                    writeEquals(code, plan.getMetadata().get(i).getMethod().getReturnType());
+                } else {
+                    writePlan(code, i);
+                    writeValue(code, 3, i, true);
+                    writeValue(code, 4, i, true);
+                    code.op(INVOKEVIRTUAL);
+                    code.u2(pool.methodRef(PLAN_CLASS, "isEqualsValue", "(I" + OBJECTS_DESCRIPTOR + ")Z", false));
+                    code.branch(IFEQ);
+                }
+            }
+
+            code.op(ICONST_1);
+            code.op(IRETURN);
+
+            if (code.hasBranches()) {
+                int typeClass = pool.classInfo(internalName(type));
+                int objectClass = pool.classInfo("java/lang/Object");
+
+                code.frame(pool.classInfo(className), objectClass, objectClass, typeClass, typeClass);
+                code.op(ICONST_0);
+                code.op(IRETURN);
+            }
+
+            return code;
+        }
+
+        /**
+         * Compares the values of the default comparator, branching to the {@code return false} when they are
+         * different. Primitive values are compared like the {@code equals} of their wrappers.
+         */
+        private void writeEquals(DiffCode code, Class<?> valueType) {
+            if (valueType == long.class) {
+                code.op(LCMP);
+                code.branch(IFNE);
+            } else if (valueType == float.class || valueType == double.class) {
+                String wrapper = internalName(WRAPPERS.get(valueType));
+                char primitive = PRIMITIVE_DESCRIPTORS.get(valueType);
+
+                code.op(INVOKESTATIC);
+                code.u2(pool.methodRef(wrapper, "compare", "(" + primitive + primitive + ")I", false));
+                code.branch(IFNE);
+            } else if (valueType.isPrimitive()) {
+                code.branch(IF_ICMPNE);
+            } else {
+                code.op(INVOKESTATIC);
+                code.u2(pool.methodRef("java/util/Objects", "equals", "(" + OBJECTS_DESCRIPTOR + ")Z", false));
+                code.branch(IFEQ);
+            }
+        }
+
+        private void writeCasts(DiffCode code, int local) {
+            int typeClass = pool.classInfo(internalName(type));
+
+            code.op(ALOAD_1);
+            code.op(CHECKCAST);
+            code.u2(typeClass);
+            code.op(ASTORE);
+            code.u1(local);
+            code.op(ALOAD_2);
+            code.op(CHECKCAST);
+            code.u2(typeClass);
+            code.op(ASTORE);
+            code.u1(local + 1);
+        }
+
+        private void writePlan(DiffCode code, int index) {
+            code.op(ALOAD_0);
+            code.op(GETFIELD);
+            code.u2(pool.fieldRef(SUPER_CLASS, "plan", PLAN_DESCRIPTOR));
+            writeInt(code, index);
+        }
+
+        private void writeInt(DiffCode code, int value) {
+            if (value <= 5) {
+                code.op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                code.op(BIPUSH);
+                code.u1(value);
+            } else {
+                code.op(SIPUSH);
+                code.u2(value);
+            }
+        }
+
+        /**
+         * Calls the getter of a field on the object of a local, boxing the primitive values when requested.
+         */
+        private void writeValue(DiffCode code, int local, int index, boolean boxed) {
+            Method getter = plan.getMetadata().get(index).getMethod();
+            Class<?> returnType = getter.getReturnType();
+            String owner = internalName(type);
+            String descriptor = "()" + descriptor(returnType);
+
+            code.op(ALOAD);
+            code.u1(local);
+
+            if (type.isInterface()) {
+                code.op(INVOKEINTERFACE);
+                code.u2(pool.methodRef(owner, getter.getName(), descriptor, true));
+                code.u1(1);
+                code.u1(0);
+            } else {
+                code.op(INVOKEVIRTUAL);
+                code.u2(pool.methodRef(owner, getter.getName(), descriptor, false));
+            }
+
+            if (boxed && returnType.isPrimitive()) {
+                Class<?> wrapper = WRAPPERS.get(returnType);
+
+                code.op(INVOKESTATIC);
+                code.u2(pool.methodRef(
+                    internalName(wrapper), "valueOf", "(" + descriptor(returnType) + ")" + descriptor(wrapper), false));
+            }
+        }
+
+        private void writeMethod(DiffBytes methods, String name, String descriptor, DiffCode code) {
+            DiffBytes attribute = new DiffBytes();
+
+            attribute.u2(MAX_STACK);
+            attribute.u2(code.maxLocals);
+            attribute.u4(code.length());
+            attribute.bytes(code);
+            attribute.u2(0);
+
+            if (code.frame == null) {
+                attribute.u2(0);
+            } else {
+                attribute.u2(1);
+                attribute.u2(pool.utf8("StackMapTable"));
+                attribute.u4(code.frame.length());
+                attribute.bytes(code.frame);
+            }
+
+            methods.u2(0);
+            methods.u2(pool.utf8(name));
+            methods.u2(pool.utf8(descriptor));
+            methods.u2(1);
+            methods.u2(pool.utf8("Code"));
+            methods.u4(attribute.length());
+            methods.bytes(attribute);
+        }
+    }
+
+    /**
+     * Bytecode of a method, with the branches to the {@code return false} patched when its position is known.
+     */
+    private static final class DiffCode extends DiffBytes {
+
+        private final int maxLocals;
+        private final DiffBytes branches = new DiffBytes();
+
+        private DiffBytes frame;
+
+        private DiffCode(int maxLocals) {
+            this.maxLocals = maxLocals;
+        }
+
+        void op(int opcode) {
+            u1(opcode);
+        }
+
+        void branch(int opcode) {
+            branches.u4(length());
+            u1(opcode);
+            u2(0);
+        }
+
+        boolean hasBranches() {
+            return branches.length() > 0;
+        }
+
+        /**
+         * Marks the current position as the target of the branches, with a full frame of the locals and an empty
+         * stack.
+         */
+        void frame(int... locals) {
+            int target = length();
+
+            for (int i = 0; i < branches.length(); i += 4) {
+                int position = branches.getInt(i);
+                patch(position + 1, target - position);
+            }
+
+            frame = new DiffBytes();
+            frame.u2(1);
+            frame.u1(FULL_FRAME);
+            frame.u2(target);
+            frame.u2(locals.length);
+
+            for (int local : locals) {
+                frame.u1(ITEM_OBJECT);
+                frame.u2(local);
+            }
+
+            frame.u2(0);
+        }
+    }
+
+    /**
+     * Constant pool of a generated class, with each constant added once.
+     */
+    private static final class DiffConstantPool {
+
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int FIELD_REF = 9;
+        private static final int METHOD_REF = 10;
+        private static final int INTERFACE_METHOD_REF = 11;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final DiffBytes constants = new DiffBytes();
+
+        private int count = 1;
+
+        int utf8(String value) {
+            Integer index = indexes.get("U" + value);
+
+            if (index != null) {
+                return index;
+            }
+
+            constants.u1(UTF8);
+            constants.utf8(value);
+            return add("U" + value);
+        }
+
+        int classInfo(String internalName) {
+            return ref("C" + internalName, CLASS, utf8(internalName), -1);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(FIELD_REF, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor, boolean isInterface) {
+            return memberRef(isInterface ? INTERFACE_METHOD_REF : METHOD_REF, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classInfo(owner);
+            int nameAndType = ref("N" + name + ":" + descriptor, NAME_AND_TYPE, utf8(name), utf8(descriptor));
+            return ref(tag + owner + "." + name + ":" + descriptor, tag, ownerIndex, nameAndType);
+        }
+
+        private int ref(String key, int tag, int first, int second) {
+            Integer index = indexes.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            constants.u1(tag);
+            constants.u2(first);
+
+            if (second >= 0) {
+                constants.u2(second);
+            }
+
+            return add(key);
+        }
+
+        private int add(String key) {
+            indexes.put(key, count);
+            return count++;
+        }
+
+        void write(DiffBytes classFile) {
+            classFile.u2(count);
+            classFile.bytes(constants);
+        }
+    }
+
+    /**
+     * Growable big-endian buffer of the class file.
+     */
+    private static class DiffBytes {
+
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        void u1(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void u2(int value) {
+            ensure(2);
+            bytes[length++] = (byte) (value >>> 8);
+            bytes[length++] = (byte) value;
+        }
+
+        void u4(int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void bytes(DiffBytes other) {
+            ensure(other.length);
+            System.arraycopy(other.bytes, 0, bytes, length, other.length);
+            length += other.length;
+        }
+
+        /**
+         * Writes the length and the modified UTF-8 bytes of a string, like {@link java.io.DataOutput#writeUTF(String)}.
+         */
+        void utf8(String value) {
+            DiffBytes encoded = new DiffBytes();
+
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+
+                if (c >= 0x0001 && c <= 0x007f) {
+                    encoded.u1(c);
+                } else if (c <= 0x07ff) {
+                    encoded.u1(0xc0 | (c >> 6));
+                    encoded.u1(0x80 | (c & 0x3f));
+                } else {
+                    encoded.u1(0xe0 | (c >> 12));
+                    encoded.u1(0x80 | ((c >> 6) & 0x3f));
+                    encoded.u1(0x80 | (c & 0x3f));
+                }
+            }
+
+            u2(encoded.length);
+            bytes(encoded);
+        }
+
+        void patch(int position, int value) {
+            bytes[position] = (byte) (value >>> 8);
+            bytes[position + 1] = (byte) value;
+        }
+
+        int getInt(int position) {
+            return (bytes[position] & 0xff) << 24
+                | (bytes[position + 1] & 0xff) << 16
+                | (bytes[position + 2] & 0xff) << 8
+                | bytes[position + 3] & 0xff;
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void ensure(int size) {
+            if (length + size > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + size));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+
+import java.util.List;
+
+
+/**
+ * Contract for the diff configuration object that maps the properties being checked for differences.
+ *
+ * @author Jonathan Pereira
+ * @version 1.2.0
+ * @since 1.0.0
+ */
+public interface DiffConfig {
+
+    /**
+     * Builds the configuration for the instance and generates the corresponding metadata.
+     *
+     * @return the generated metadata for the instance
+     */
+    List<DiffMetadata> build();
+
+    /**
+     * Gets the immutable execution plan of the configuration.
+     * <p>
+     * The plan is created once by the configuration and the same instance is returned by every call, so the diffs
+     * executed with the configuration don't freeze the metadata again. The default implementation freezes the metadata
+     * of {@link #build()} on the first call and keeps the plan while the configuration is reachable. Implementations
+     * that hold their own plan, created with {@link DiffPlan#of(List)}, can return it instead.
+     *
+     * @return the execution plan of the configuration
+     *
+     * @since 1.4.0
+     */
+    default DiffPlan getPlan() {
+        return DiffPlan.forConfig(this);
+    }
+
+}
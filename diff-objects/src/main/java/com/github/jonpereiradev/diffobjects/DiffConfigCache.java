@@ -0,0 +1,50 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+
+
+/**
+ * Keeps the annotation-based configuration of each class, so it is built only once.
+ * <p>
+ * The configuration is stored in a {@link ClassValue}, which means the cached value is owned by the class itself and
+ * does not prevent its class loader from being unloaded. The configuration can be evicted when the class is redeployed
+ * by a class loader that is shared with this library.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffConfigCache {
+
+    private static final ClassValue<DiffConfig> CONFIGS = new ClassValue<>() {
+
+        @Override
+        protected DiffConfig computeValue(Class<?> type) {
+            return DiffConfigBuilder.forClass(type).mapping().annotations().build();
+        }
+    };
+
+    private DiffConfigCache() {
+    }
+
+    /**
+     * Gets the annotation-based configuration of the class, building it on the first access.
+     *
+     * @param type the class mapped by the configuration.
+     *
+     * @return the cached configuration of the class.
+     */
+    static DiffConfig get(Class<?> type) {
+        return CONFIGS.get(type);
+    }
+
+    /**
+     * Removes the cached configuration of the class.
+     *
+     * @param type the class mapped by the configuration.
+     */
+    static void evict(Class<?> type) {
+        CONFIGS.remove(type);
+    }
+
+}
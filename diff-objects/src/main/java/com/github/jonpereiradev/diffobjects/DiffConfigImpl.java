@@ -0,0 +1,52 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffBuilderContext;
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Responsible for generating the configuration of the instance.
+ * <p>
+ * The metadata is ordered and frozen into a {@link DiffPlan} when the configuration is created, so the configuration
+ * is immutable and can be shared by threads executing diffs at the same time.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+public final class DiffConfigImpl implements DiffConfig {
+
+    private final DiffPlan plan;
+
+    public DiffConfigImpl(DiffBuilderContext<?> context) {
+        List<DiffMetadata> metadataList = new ArrayList<>(context.getMetadataMap().values());
+
+        // the sort is stable, so fields with the same order keep the mapping order
+        Collections.sort(metadataList);
+
+        this.plan = DiffPlan.of(metadataList);
+    }
+
+    /**
+     * Gets the configuration for the instance.
+     *
+     * @return the unmodifiable metadata generated by the instance
+     */
+    @Override
+    public List<DiffMetadata> build() {
+        return plan.getMetadata();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffPlan getPlan() {
+        return plan;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Differ generated at compile time for a class mapped with annotations.
+ * <p>
+ * The annotation processor from {@code diff-objects-processor} generates a {@code Differ_<Type>} implementation for
+ * each annotated class and registers it as a {@link java.util.ServiceLoader} provider. The differ calls the getters
+ * directly, so {@link DiffObjects#forClass(Class)} uses it instead of the reflection-based mapping when it is
+ * available on the class path.
+ * <p>
+ * Only {@link DiffObjects#diff(Object, Object)}, {@link DiffObjects#diffChanges(Object, Object)} and
+ * {@link DiffObjects#isEquals(Object, Object)} use the differ. The other operations, like the lazy diffs, hashes and
+ * snapshots, execute the {@link DiffPlan} of the annotation mapping. Both map the fields sorted by {@code @DiffOrder}
+ * and then by the name of the getter, so the results have the same order either way.
+ *
+ * @param <T> the type of object compared by the differ
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+public interface DiffDiffer<T> {
+
+    /**
+     * Gets the class compared by this differ.
+     *
+     * @return the class compared by this differ
+     */
+    Class<T> getType();
+
+    /**
+     * Executes the diff between two objects using the annotation mapping of the class.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return the diff result with all mapped fields checked
+     */
+    DiffResults diff(T expected, T current);
+
+    /**
+     * Executes the diff between two objects using the annotation mapping of the class, returning only the fields
+     * with differences.
+     * <p>
+     * The default implementation filters the results of {@link #diff(Object, Object)}. Generated differs check the
+     * equality of each field before creating its result.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return the diff result with the mapped fields that are different
+     */
+    default DiffResults diffChanges(T expected, T current) {
+        List<DiffResult> results = new ArrayList<>();
+
+        for (DiffResult result : diff(expected, current)) {
+            if (!result.isEquals()) {
+                results.add(result);
+            }
+        }
+
+        return DiffResults.forResults(results);
+    }
+
+    /**
+     * Checks if the expected and current states are equal using the annotation mapping of the class.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(T expected, T current);
+
+}
@@ -0,0 +1,66 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+
+/**
+ * Finds the differ generated at compile time for a class.
+ * <p>
+ * The providers are loaded with the class loader of the compared class and the result, including the absence of a
+ * differ, is kept in a {@link ClassValue}, so the {@link ServiceLoader} lookup happens once per class. Providers that
+ * can't be loaded, like the differs of classes deleted after the service file was written, are skipped with a warning,
+ * so the other classes keep their differs or fall back to the runtime mapping.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffDifferRegistry {
+
+    private static final System.Logger LOGGER = System.getLogger(DiffDifferRegistry.class.getName());
+
+    private static final ClassValue<Optional<DiffDiffer<?>>> DIFFERS = new ClassValue<>() {
+
+        @Override
+        protected Optional<DiffDiffer<?>> computeValue(Class<?> type) {
+            Iterator<DiffDiffer> differs = ServiceLoader.load(DiffDiffer.class, type.getClassLoader()).iterator();
+
+            while (true) {
+                try {
+                    if (!differs.hasNext()) {
+                        return Optional.empty();
+                    }
+
+                    DiffDiffer<?> differ = differs.next();
+
+                    if (differ.getType() == type) {
+                        return Optional.of(differ);
+                    }
+                } catch (ServiceConfigurationError e) {
+                    // the iterator moves on to the next provider after an error
+                    LOGGER.log(System.Logger.Level.WARNING, "Skipping a differ that can't be loaded: " + e.getMessage());
+                }
+            }
+        }
+    };
+
+    private DiffDifferRegistry() {
+    }
+
+    /**
+     * Gets the differ generated for the class.
+     *
+     * @param type the class compared by the differ.
+     * @param <T> the type of the class.
+     *
+     * @return the generated differ or {@code null} if the class has no generated differ.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DiffDiffer<T> get(Class<T> type) {
+        return (DiffDiffer<T>) DIFFERS.get(type).orElse(null);
+    }
+
+}
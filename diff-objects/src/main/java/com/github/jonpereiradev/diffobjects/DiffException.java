@@ -0,0 +1,33 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+/**
+ * Exception thrown for any generic error encountered during the diff execution.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+public class DiffException extends RuntimeException {
+
+    /**
+     * Creates the exception with a message describing the error.
+     *
+     * @param message the message of the error.
+     */
+    public DiffException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates the exception with a message describing the error and the exception that caused it.
+     *
+     * @param message the message of the error.
+     * @param cause the exception that caused the error.
+     *
+     * @since 1.4.0
+     */
+    public DiffException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
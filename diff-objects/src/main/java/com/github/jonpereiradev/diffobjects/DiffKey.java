@@ -0,0 +1,28 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+/**
+ * Extracts the key that identifies an object of a collection.
+ * <p>
+ * Two objects from the expected and current collections with equal keys represent the same object. The key must
+ * implement {@code equals} and {@code hashCode}, because the collections are matched through a hash index.
+ *
+ * @param <T> the type of object in the collection
+ * @param <K> the type of the key
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+@FunctionalInterface
+public interface DiffKey<T, K> {
+
+    /**
+     * Gets the key that identifies the object.
+     *
+     * @param object the object of the collection.
+     *
+     * @return the key of the object.
+     */
+    K getKey(T object);
+
+}
@@ -0,0 +1,119 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Results that evaluate each field of the plan only when it is read, caching the evaluated results.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#diffLazy(Object, Object, DiffConfig)
+ * @since 1.4.0
+ */
+final class DiffLazyResults implements DiffResults {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL;
+
+    private final DiffPlan plan;
+    private final Object expected;
+    private final Object current;
+    private final DiffResult[] results;
+
+    private List<DiffResult> resultList;
+
+    DiffLazyResults(DiffPlan plan, Object expected, Object current) {
+        this.plan = plan;
+        this.expected = expected;
+        this.current = current;
+        this.results = new DiffResult[plan.size()];
+    }
+
+    private DiffResult get(int index) {
+        DiffResult result = results[index];
+
+        if (result == null) {
+            result = plan.diff(index, expected, current);
+            results[index] = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Evaluates all fields that were not evaluated yet.
+     *
+     * @return the results of all fields.
+     */
+    @Override
+    public List<DiffResult> getResults() {
+        if (resultList == null) {
+            for (int i = 0; i < results.length; i++) {
+                get(i);
+            }
+
+            resultList = Collections.unmodifiableList(Arrays.asList(results));
+        }
+
+        return resultList;
+    }
+
+    @Override
+    public Iterator<DiffResult> iterator() {
+        return new Iterator<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < results.length;
+            }
+
+            @Override
+            public DiffResult next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super DiffResult> action) {
+        for (int i = 0; i < results.length; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    @Override
+    public Spliterator<DiffResult> spliterator() {
+        return Spliterators.spliterator(iterator(), results.length, CHARACTERISTICS);
+    }
+
+    @Override
+    public Stream<DiffResult> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return results.length == 0;
+    }
+
+    @Override
+    public int size() {
+        return results.length;
+    }
+
+}
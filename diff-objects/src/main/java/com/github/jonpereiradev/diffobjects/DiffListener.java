@@ -0,0 +1,29 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.Map;
+
+
+/**
+ * Receives the differences of a diff as they are found, without materializing the results.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#diff(Object, Object, DiffConfig, DiffListener)
+ * @since 1.4.0
+ */
+@FunctionalInterface
+public interface DiffListener {
+
+    /**
+     * Called for each field with differences, in the order of the configuration.
+     *
+     * @param field the field with differences, like {@link DiffResult#getField()}.
+     * @param expected the expected value of the field.
+     * @param current the current value of the field.
+     * @param properties the unmodifiable properties of the field mapping.
+     *
+     * @return {@code true} to continue checking the next fields, {@code false} to stop the diff.
+     */
+    boolean onDifference(String field, Object expected, Object current, Map<String, String> properties);
+
+}
@@ -0,0 +1,508 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+
+/**
+ * Responsible for checking the difference between two objects.
+ *
+ * @param <T> the type of object being compared
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjectsImpl
+ * @since 1.0.0
+ */
+public interface DiffObjects<T> {
+
+    /**
+     * Creates a DiffObjects instance for a specific class.
+     * <p>
+     * Every diff executes the {@link DiffPlan} of its configuration, which holds flat arrays of accessors and
+     * comparators, so simple fields are compared inline without going through the diff strategies.
+     *
+     * @param clazz the class type for this DiffObjects.
+     * @param <T> the type of the class.
+     *
+     * @return the DiffObjects instance for the class
+     */
+    static <T> DiffObjects<T> forClass(Class<T> clazz) {
+        return new DiffObjectsImpl<>(clazz);
+    }
+
+    /**
+     * Creates a DiffObjects instance for a specific class that generates a differ class for its annotation mapping.
+     * <p>
+     * The differ is generated once per class, calling the getters of the fields directly in the order of the
+     * {@link DiffPlan}, and is defined as a hidden class on Java 21 or later. {@link #diff(Object, Object)},
+     * {@link #diffChanges(Object, Object)} and {@link #isEquals(Object, Object)} use it with the same results as the
+     * instances of {@link #forClass(Class)}. The other operations execute the plan of their configuration.
+     * <p>
+     * When the differ can't be generated, like for classes that are not public or not visible from the class loader
+     * of this library, the instance uses the differ generated at compile time or the plan, like
+     * {@link #forClass(Class)}.
+     *
+     * @param clazz the class type for this DiffObjects.
+     * @param <T> the type of the class.
+     *
+     * @return the DiffObjects instance for the class
+     *
+     * @since 1.4.0
+     */
+    static <T> DiffObjects<T> compiled(Class<T> clazz) {
+        DiffDiffer<T> differ = DiffCompiler.get(clazz);
+        return differ == null ? forClass(clazz) : new DiffObjectsImpl<>(clazz, differ);
+    }
+
+    /**
+     * Removes the cached annotation-based configuration of a class.
+     * <p>
+     * The configuration is built once per class and reused by every DiffObjects instance. Evicting it is only needed
+     * when the class is redeployed, so the old class loader can be unloaded.
+     *
+     * @param clazz the class that has the cached configuration.
+     */
+    static void evict(Class<?> clazz) {
+        DiffConfigCache.evict(clazz);
+        DiffCompiler.evict(clazz);
+    }
+
+    /**
+     * Executes the diff between two objects.
+     * <p>
+     * If the class supports annotation-based diff configuration, it is used in the diff context.
+     * Otherwise, the diff is performed using all fields of the class.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(T expected, T current);
+
+    /**
+     * Executes the diff between two objects using a configuration.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(T expected, T current, DiffConfig config);
+
+    /**
+     * Executes the diff between two objects, returning only the fields with differences.
+     * <p>
+     * If the class supports annotation-based diff configuration, it is used in the diff context.
+     * Otherwise, the diff is performed using all fields of the class.
+     * No result is created for the equal fields.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return the diff result with the fields that are different
+     */
+    DiffResults diffChanges(T expected, T current);
+
+    /**
+     * Executes the diff between two objects using a configuration, returning only the fields with differences.
+     * <p>
+     * No result is created for the equal fields.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return the diff result with the fields that are different
+     */
+    DiffResults diffChanges(T expected, T current, DiffConfig config);
+
+    /**
+     * Executes the diff between two objects using a configuration, evaluating the fields concurrently.
+     * <p>
+     * Each field of the configuration is evaluated on its own thread, so getters that block, like lazy-loaded
+     * associations, wait for each other's calls instead of in sequence. On Java 21 or later the fields run on virtual
+     * threads, and on earlier versions on a shared pool of daemon platform threads, which starts a thread when no idle
+     * thread is available, so no field waits for a thread. The getters must be safe to call concurrently.
+     * <p>
+     * The results are the same as the results of {@link #diff(Object, Object, DiffConfig)}, in the order of the
+     * configuration, with a result for each property of a
+     * {@link com.github.jonpereiradev.diffobjects.strategy.DiffStrategyType#DEEP} field. An exception
+     * thrown by a field is rethrown, and the fields still running after an exception or the timeout are interrupted.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     * @param timeout the maximum time to wait for all fields
+     *
+     * @return the diff result with all configured fields checked
+     *
+     * @throws DiffException if the fields are not evaluated before the timeout or the thread is interrupted
+     */
+    DiffResults diffConcurrent(T expected, T current, DiffConfig config, Duration timeout);
+
+    /**
+     * Executes the diff between two objects using a configuration, notifying the listener of each field with
+     * differences.
+     * <p>
+     * The listener is called as soon as a difference is found, so no result list is created for the diff. When the
+     * listener returns {@code false}, the remaining fields are not checked.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     * @param listener the listener notified of the differences
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean diff(T expected, T current, DiffConfig config, DiffListener listener);
+
+    /**
+     * Checks which fields of the configuration are different between two objects, without creating diff results.
+     * <p>
+     * Each field sets the bit at its position in {@link DiffConfig#getPlan()}, and
+     * {@link DiffPlan#getField(int)} maps the bit back to the field name. The mask is {@code 0} if no difference
+     * exists. Use {@link #changeSet(Object, Object, DiffConfig)} for configurations with more than 64 fields.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return the mask with the bits of the fields with differences set
+     *
+     * @throws DiffException if the configuration has more than 64 fields
+     */
+    long changeMask(T expected, T current, DiffConfig config);
+
+    /**
+     * Checks which fields of the configuration are different between two objects, without creating diff results.
+     * <p>
+     * Each field sets the bit at its position in {@link DiffConfig#getPlan()}, and
+     * {@link DiffPlan#getField(int)} maps the bit back to the field name.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return the set with the bits of the fields with differences set
+     */
+    BitSet changeSet(T expected, T current, DiffConfig config);
+
+    /**
+     * Gets the structural hash of the fields of an object mapped by the annotations of its class.
+     *
+     * @param object the object to hash
+     *
+     * @return the 64-bit hash of the mapped fields
+     *
+     * @see #hash(Object, DiffConfig)
+     */
+    long hash(T object);
+
+    /**
+     * Gets the structural hash of the fields of an object mapped by the configuration.
+     * <p>
+     * The hash combines the hashes of the fields in the order of {@link DiffConfig#getPlan()}, so two objects equal
+     * for the configuration have the same hash and a change in any mapped field changes the hash, except for
+     * collisions. The values of the JDK, like strings, numbers, enums and their collections, are hashed over their whole
+     * content in 64 bits, while the other values only have the 32 bits of their {@code hashCode}. Collections mapped
+     * with an {@link com.github.jonpereiradev.diffobjects.comparator.UnorderedComparator}
+     * are hashed regardless of order. The values are hashed consistently with {@code equals}, so fields mapped with
+     * comparators not consistent with {@code equals} are not reliably fingerprinted.
+     * <p>
+     * The hashes of objects of classes annotated with
+     * {@link com.github.jonpereiradev.diffobjects.annotation.DiffImmutable} are cached by instance.
+     *
+     * @param object the object to hash
+     * @param config the diff configuration metadata
+     *
+     * @return the 64-bit hash of the mapped fields
+     */
+    long hash(T object, DiffConfig config);
+
+    /**
+     * Captures the fields of an object mapped by the annotations of its class.
+     *
+     * @param object the object to capture
+     *
+     * @return the snapshot of the mapped fields
+     *
+     * @see #snapshot(Object, DiffConfig)
+     */
+    DiffSnapshot snapshot(T object);
+
+    /**
+     * Captures the fields of an object mapped by the configuration, to check later if the object has changed.
+     * <p>
+     * Each getter is read once and its value is kept in the order of {@link DiffConfig#getPlan()}, so the object
+     * doesn't need to be copied to keep its expected state. See {@link DiffSnapshot} for what is captured for each
+     * kind of mapping.
+     *
+     * @param object the object to capture
+     * @param config the diff configuration metadata
+     *
+     * @return the snapshot of the mapped fields
+     */
+    DiffSnapshot snapshot(T object, DiffConfig config);
+
+    /**
+     * Checks the difference between a snapshot and the current state of the object, using the plan of the snapshot.
+     *
+     * @param snapshot the snapshot with the expected state of the object
+     * @param current the current state of the object to check for differences
+     *
+     * @return the diff result with all configured fields
+     */
+    DiffResults diffSnapshot(DiffSnapshot snapshot, T current);
+
+    /**
+     * Checks if the current state of the object is different from a snapshot, stopping on the first difference.
+     * <p>
+     * No diff result is created, so the check is suited to dirty checking of many tracked objects.
+     *
+     * @param snapshot the snapshot with the expected state of the object
+     * @param current the current state of the object to check for differences
+     *
+     * @return {@code true} if any configured field changed since the snapshot, {@code false} otherwise
+     */
+    boolean isDirty(DiffSnapshot snapshot, T current);
+
+    /**
+     * Creates the diff between two objects that evaluates each field only when its result is read.
+     * <p>
+     * If the class supports annotation-based diff configuration, it is used in the diff context.
+     * Otherwise, the diff is performed using all fields of the class.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return the lazy diff result with all configured fields
+     *
+     * @see #diffLazy(Object, Object, DiffConfig)
+     */
+    DiffResults diffLazy(T expected, T current);
+
+    /**
+     * Creates the diff between two objects using a configuration that evaluates each field only when its result is read.
+     * <p>
+     * The fields are evaluated in order as the results are pulled through {@link DiffResults#iterator()},
+     * {@link DiffResults#spliterator()} or {@link DiffResults#stream()}, so callers that stop early, like
+     * {@code stream().anyMatch(...)}, skip the getters and comparators of the remaining fields.
+     * {@link DiffResults#size()} and {@link DiffResults#isEmpty()} don't evaluate any field, and
+     * {@link DiffResults#getResults()} evaluates all of them.
+     * <p>
+     * Each result is cached once evaluated. The objects are read when a field is evaluated, so changes made to them
+     * after the diff is created are visible in the fields that were not evaluated yet, while the cached results keep
+     * the values read before. The lazy results are not thread-safe.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return the lazy diff result with all configured fields
+     */
+    DiffResults diffLazy(T expected, T current, DiffConfig config);
+
+    /**
+     * Executes the diff between each pair of objects at the same position of the lists, in parallel.
+     * <p>
+     * The pairs are checked by the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+     *
+     * @param expected the expected states of the objects to check for differences
+     * @param current the current states of the objects to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return the diff results of each pair, in the order of the lists
+     *
+     * @throws DiffException if the lists don't have the same size
+     * @see #diffAll(List, List, DiffConfig, Executor)
+     */
+    List<DiffResults> diffAll(List<T> expected, List<T> current, DiffConfig config);
+
+    /**
+     * Executes the diff between each pair of objects at the same position of the lists, in parallel.
+     * <p>
+     * The lists are split into chunks executed by the executor, and all workers share the plan of the configuration.
+     * The method returns when all pairs are checked. An exception thrown by a worker is rethrown to the caller.
+     *
+     * @param expected the expected states of the objects to check for differences
+     * @param current the current states of the objects to check for differences
+     * @param config the diff configuration metadata
+     * @param executor the executor of the workers
+     *
+     * @return the diff results of each pair, in the order of the lists
+     *
+     * @throws DiffException if the lists don't have the same size
+     */
+    List<DiffResults> diffAll(List<T> expected, List<T> current, DiffConfig config, Executor executor);
+
+    /**
+     * Executes the diff between each pair of objects at the same position of the lists, in parallel, passing the
+     * results of each pair to the listener as soon as they are ready.
+     * <p>
+     * The results are not kept, so the listener receives them from the workers in no particular order.
+     *
+     * @param expected the expected states of the objects to check for differences
+     * @param current the current states of the objects to check for differences
+     * @param config the diff configuration metadata
+     * @param executor the executor of the workers
+     * @param listener the thread-safe listener of the results
+     *
+     * @throws DiffException if the lists don't have the same size
+     */
+    void diffAll(List<T> expected, List<T> current, DiffConfig config, Executor executor, DiffBatchListener listener);
+
+    /**
+     * Executes the diff between two collections of objects.
+     * <p>
+     * If the class supports annotation-based diff configuration, it is used in the diff context.
+     * Otherwise, the diff is performed using all fields of the class.
+     *
+     * @param expected the expected state of the objects in the collection to check for differences
+     * @param current the current state of the objects in the collection to check for differences
+     * @param matcher compares whether an object from the expected collection is represented by an object in the current collection
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(Collection<T> expected, Collection<T> current, DiffComparator<T> matcher);
+
+    /**
+     * Executes the diff between two collections of objects using the diff configuration metadata.
+     *
+     * @param expected the expected state of the objects in the collection to check for differences
+     * @param current the current state of the objects in the collection to check for differences
+     * @param config the diff configuration metadata
+     * @param matcher compares whether an object from the expected collection is represented by an object in the current collection
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(Collection<T> expected, Collection<T> current, DiffConfig config, DiffComparator<T> matcher);
+
+    /**
+     * Executes the diff between two collections of objects matched by key.
+     * <p>
+     * The current collection is indexed by key, so each object from the expected collection is matched in constant
+     * time. The results are the same as {@link #diff(Collection, Collection, DiffComparator)} with a matcher that
+     * compares the keys.
+     *
+     * @param expected the expected state of the objects in the collection to check for differences
+     * @param current the current state of the objects in the collection to check for differences
+     * @param key extracts the key that identifies an object in both collections
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(Collection<T> expected, Collection<T> current, DiffKey<T, ?> key);
+
+    /**
+     * Executes the diff between two collections of objects matched by key using the diff configuration metadata.
+     *
+     * @param expected the expected state of the objects in the collection to check for differences
+     * @param current the current state of the objects in the collection to check for differences
+     * @param config the diff configuration metadata
+     * @param key extracts the key that identifies an object in both collections
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(Collection<T> expected, Collection<T> current, DiffConfig config, DiffKey<T, ?> key);
+
+    /**
+     * Executes the diff between two collections of objects matched by key, comparing the matched objects in parallel.
+     * <p>
+     * The current collection is indexed by key on the calling thread, then the objects of the expected collection are
+     * split into chunks matched and compared by the executor, like a {@link java.util.concurrent.ForkJoinPool}. The
+     * results are merged in the same order as {@link #diff(Collection, Collection, DiffConfig, DiffKey)}, so the
+     * output doesn't depend on the scheduling of the workers.
+     *
+     * @param expected the expected state of the objects in the collection to check for differences
+     * @param current the current state of the objects in the collection to check for differences
+     * @param config the diff configuration metadata
+     * @param key extracts the key that identifies an object in both collections, called concurrently
+     * @param executor the executor of the workers
+     *
+     * @return the diff result with all configured fields checked
+     */
+    DiffResults diff(
+        Collection<T> expected,
+        Collection<T> current,
+        DiffConfig config,
+        DiffKey<T, ?> key,
+        Executor executor);
+
+    /**
+     * Checks if the expected and current states are equal.
+     * <p>
+     * If the class supports annotation-based diff configuration, it is used in the diff context.
+     * Otherwise, the diff is performed using all fields of the class.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(T expected, T current);
+
+    /**
+     * Checks if the expected and current states are equal.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(T expected, T current, DiffConfig config);
+
+    /**
+     * Checks if the expected and current states are equal.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param matcher compares whether an object from the expected collection is represented by an object in the current collection
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(Collection<T> expected, Collection<T> current, DiffComparator<T> matcher);
+
+    /**
+     * Checks if the expected and current states are equal.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     * @param matcher compares whether an object from the expected collection is represented by an object in the current collection
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(Collection<T> expected, Collection<T> current, DiffConfig config, DiffComparator<T> matcher);
+
+    /**
+     * Checks if the expected and current states of two collections matched by key are equal.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param key extracts the key that identifies an object in both collections
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(Collection<T> expected, Collection<T> current, DiffKey<T, ?> key);
+
+    /**
+     * Checks if the expected and current states of two collections matched by key are equal.
+     *
+     * @param expected the expected state of the object to check for differences
+     * @param current the current state of the object to check for differences
+     * @param config the diff configuration metadata
+     * @param key extracts the key that identifies an object in both collections
+     *
+     * @return {@code true} if no difference exists between the objects, {@code false} otherwise
+     */
+    boolean isEquals(Collection<T> expected, Collection<T> current, DiffConfig config, DiffKey<T, ?> key);
+
+}
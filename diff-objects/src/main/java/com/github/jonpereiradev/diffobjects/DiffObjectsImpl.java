@@ -0,0 +1,646 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * Responsible for checking the difference between two objects.
+ *
+ * @param <T> type of the object being compared
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+final class DiffObjectsImpl<T> implements DiffObjects<T> {
+
+    private final Class<T> ofType;
+    private final DiffDiffer<T> differ;
+
+    DiffObjectsImpl(Class<T> ofType) {
+        this(ofType, DiffDifferRegistry.get(ofType));
+    }
+
+    DiffObjectsImpl(Class<T> ofType, DiffDiffer<T> differ) {
+        this.ofType = ofType;
+        this.differ = differ;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(T expected, T current) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        if (differ != null) {
+            return differ.diff(expected, current);
+        }
+
+        DiffConfig config = createDiffConfig();
+        return diff(expected, current, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(T expected, T current, DiffConfig config) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        return config.getPlan().diff(expected, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diffChanges(T expected, T current) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        if (differ != null) {
+            return differ.diffChanges(expected, current);
+        }
+
+        DiffConfig config = createDiffConfig();
+        return diffChanges(expected, current, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diffChanges(T expected, T current, DiffConfig config) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        return config.getPlan().diffChanges(expected, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diffConcurrent(T expected, T current, DiffConfig config, Duration timeout) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(timeout, "Timeout is required");
+
+        return config.getPlan().diffConcurrent(expected, current, timeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean diff(T expected, T current, DiffConfig config, DiffListener listener) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(listener, "Listener is required");
+
+        return config.getPlan().diff(expected, current, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long changeMask(T expected, T current, DiffConfig config) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        return config.getPlan().changeMask(expected, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BitSet changeSet(T expected, T current, DiffConfig config) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        return config.getPlan().changeSet(expected, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long hash(T object) {
+        requireNonNull(object, "Object is required");
+
+        DiffConfig config = createDiffConfig();
+        return hash(object, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long hash(T object, DiffConfig config) {
+        requireNonNull(object, "Object is required");
+        requireNonNull(config, "Config is required");
+
+        return config.getPlan().hash(object);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffSnapshot snapshot(T object) {
+        requireNonNull(object, "Object is required");
+
+        DiffConfig config = createDiffConfig();
+        return snapshot(object, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffSnapshot snapshot(T object, DiffConfig config) {
+        requireNonNull(object, "Object is required");
+        requireNonNull(config, "Config is required");
+
+        return config.getPlan().snapshot(object);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diffSnapshot(DiffSnapshot snapshot, T current) {
+        requireNonNull(snapshot, "Snapshot is required");
+        requireNonNull(current, "Current state is required");
+
+        return snapshot.getPlan().diff(snapshot, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDirty(DiffSnapshot snapshot, T current) {
+        requireNonNull(snapshot, "Snapshot is required");
+        requireNonNull(current, "Current state is required");
+
+        return snapshot.getPlan().isDirty(snapshot, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diffLazy(T expected, T current) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        DiffConfig config = createDiffConfig();
+        return diffLazy(expected, current, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diffLazy(T expected, T current, DiffConfig config) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        return new DiffLazyResults(config.getPlan(), expected, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DiffResults> diffAll(List<T> expected, List<T> current, DiffConfig config) {
+        return diffAll(expected, current, config, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DiffResults> diffAll(List<T> expected, List<T> current, DiffConfig config, Executor executor) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        DiffResults[] results = new DiffResults[expected.size()];
+
+        diffAll(expected, current, config, executor, (index, result) -> results[index] = result);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void diffAll(
+        List<T> expected,
+        List<T> current,
+        DiffConfig config,
+        Executor executor,
+        DiffBatchListener listener) {
+
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(executor, "Executor is required");
+        requireNonNull(listener, "Listener is required");
+
+        if (expected.size() != current.size()) {
+            throw new DiffException("The expected and current lists must have the same size.");
+        }
+
+        DiffPlan plan = config.getPlan();
+        List<T> expectedList = randomAccess(expected);
+        List<T> currentList = randomAccess(current);
+
+        DiffBatch.forEach(expectedList.size(), executor, index -> {
+            T expectedValue = requireNonNull(expectedList.get(index), "Expected state is required");
+            T currentValue = requireNonNull(currentList.get(index), "Current state is required");
+
+            listener.onResults(index, plan.diff(expectedValue, currentValue));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(Collection<T> expected, Collection<T> current, DiffComparator<T> matcher) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        DiffConfig config = createDiffConfig();
+        return diff(expected, current, config, matcher);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(
+        Collection<T> expectedCollection,
+        Collection<T> currentCollection,
+        DiffConfig config,
+        DiffComparator<T> matcher) {
+
+        requireNonNull(expectedCollection, "Expected state is required");
+        requireNonNull(currentCollection, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        List<DiffResult> results = new ArrayList<>();
+        List<T> currentCollectionCopy = new ArrayList<>(currentCollection);
+        DiffResult result;
+
+        for (T expected : expectedCollection) {
+            Stream<T> stream = currentCollection.stream().filter((current) -> matcher.isEquals(expected, current));
+            T current = stream.findFirst().orElse(null);
+
+            // check the elements that exist on expectedCollection and not exists on currentCollection
+            if (current == null) {
+                result = DiffResult.forValue(expected, null, false);
+                results.add(result);
+                continue;
+            }
+
+            currentCollectionCopy.remove(current);
+
+            // check the elements that exist on both collections
+            boolean equals = isEquals(expected, current, config);
+
+            result = DiffResult.forValue(expected, current, equals);
+            results.add(result);
+        }
+
+        // check the elements that exist on currentCollection but not exists on expectedCollection
+        for (T current : currentCollectionCopy) {
+            Stream<T> stream = expectedCollection.stream().filter((expected) -> matcher.isEquals(current, expected));
+            T expected = stream.findFirst().orElse(null);
+
+            if (expected == null) {
+                result = DiffResult.forValue(null, current, false);
+                results.add(result);
+            }
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(Collection<T> expected, Collection<T> current, DiffKey<T, ?> key) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        DiffConfig config = createDiffConfig();
+        return diff(expected, current, config, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(
+        Collection<T> expectedCollection,
+        Collection<T> currentCollection,
+        DiffConfig config,
+        DiffKey<T, ?> key) {
+
+        requireNonNull(expectedCollection, "Expected state is required");
+        requireNonNull(currentCollection, "Current state is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(key, "Key is required");
+
+        List<DiffResult> results = new ArrayList<>(expectedCollection.size());
+        Map<Object, T> currentIndex = indexByKey(currentCollection, key);
+        Set<Object> expectedKeys = new HashSet<>(capacity(expectedCollection.size()));
+        DiffResult result;
+
+        for (T expected : expectedCollection) {
+            Object expectedKey = key.getKey(expected);
+            T current = currentIndex.get(expectedKey);
+
+            expectedKeys.add(expectedKey);
+
+            // check the elements that exist on expectedCollection and not exists on currentCollection
+            if (current == null) {
+                result = DiffResult.forValue(expected, null, false);
+                results.add(result);
+                continue;
+            }
+
+            // check the elements that exist on both collections
+            boolean equals = isEquals(expected, current, config);
+
+            result = DiffResult.forValue(expected, current, equals);
+            results.add(result);
+        }
+
+        // check the elements that exist on currentCollection but not exists on expectedCollection
+        for (T current : currentCollection) {
+            if (!expectedKeys.contains(key.getKey(current))) {
+                result = DiffResult.forValue(null, current, false);
+                results.add(result);
+            }
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffResults diff(
+        Collection<T> expectedCollection,
+        Collection<T> currentCollection,
+        DiffConfig config,
+        DiffKey<T, ?> key,
+        Executor executor) {
+
+        requireNonNull(expectedCollection, "Expected state is required");
+        requireNonNull(currentCollection, "Current state is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(key, "Key is required");
+        requireNonNull(executor, "Executor is required");
+
+        DiffPlan plan = config.getPlan();
+        List<T> expectedList = randomAccess(expectedCollection);
+        Map<Object, T> currentIndex = indexByKey(currentCollection, key);
+        Object[] expectedKeys = new Object[expectedList.size()];
+        DiffResult[] matched = new DiffResult[expectedList.size()];
+
+        // each worker writes only the positions of its chunk, published to this thread when the batch finishes
+        DiffBatch.forEach(expectedList.size(), executor, index -> {
+            T expected = expectedList.get(index);
+            Object expectedKey = key.getKey(expected);
+            T current = currentIndex.get(expectedKey);
+
+            expectedKeys[index] = expectedKey;
+
+            if (current == null) {
+                matched[index] = DiffResult.forValue(expected, null, false);
+            } else {
+                matched[index] = DiffResult.forValue(expected, current, plan.isEquals(expected, current));
+            }
+        });
+
+        List<DiffResult> results = new ArrayList<>(Arrays.asList(matched));
+        Set<Object> expectedKeySet = new HashSet<>(Arrays.asList(expectedKeys));
+
+        // check the elements that exist on currentCollection but not exists on expectedCollection
+        for (T current : currentCollection) {
+            if (!expectedKeySet.contains(key.getKey(current))) {
+                results.add(DiffResult.forValue(null, current, false));
+            }
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEquals(T expected, T current) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+
+        if (differ != null) {
+            return differ.isEquals(expected, current);
+        }
+
+        DiffConfig config = createDiffConfig();
+        return isEquals(expected, current, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEquals(T expected, T current, DiffConfig config) {
+        requireNonNull(expected, "Expected state is required");
+        requireNonNull(current, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        // the plan only compares the values, so both modes check the equality without creating results
+        return config.getPlan().isEquals(expected, current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEquals(
+        Collection<T> expectedCollection,
+        Collection<T> currentCollection,
+        DiffComparator<T> matcher) {
+
+        requireNonNull(expectedCollection, "Expected Collection state is required.");
+        requireNonNull(currentCollection, "Current Collection state is required.");
+
+        DiffConfig config = createDiffConfig();
+        return isEquals(expectedCollection, currentCollection, config, matcher);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEquals(
+        Collection<T> expectedCollection,
+        Collection<T> currentCollection,
+        DiffConfig config,
+        DiffComparator<T> matcher) {
+
+        requireNonNull(expectedCollection, "Expected state is required");
+        requireNonNull(currentCollection, "Current state is required");
+        requireNonNull(config, "Config is required");
+
+        List<T> currentCollectionCopy = new ArrayList<>(currentCollection);
+
+        for (T expected : expectedCollection) {
+            Stream<T> stream = currentCollection.stream().filter((current) -> matcher.isEquals(expected, current));
+            T current = stream.findFirst().orElse(null);
+
+            // check the elements that exist on expectedCollection and not exists on currentCollection
+            if (current == null) {
+                return false;
+            }
+
+            currentCollectionCopy.remove(current);
+
+            // check the elements that exist on both collections
+            if (!isEquals(expected, current, config)) {
+                return false;
+            }
+        }
+
+        // check the elements that exist on currentCollection and not exists on expectedCollection
+        for (T current : currentCollectionCopy) {
+            Stream<T> stream = expectedCollection.stream().filter((expected) -> matcher.isEquals(current, expected));
+            T expected = stream.findFirst().orElse(null);
+
+            if (expected == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEquals(Collection<T> expectedCollection, Collection<T> currentCollection, DiffKey<T, ?> key) {
+        requireNonNull(expectedCollection, "Expected Collection state is required.");
+        requireNonNull(currentCollection, "Current Collection state is required.");
+
+        DiffConfig config = createDiffConfig();
+        return isEquals(expectedCollection, currentCollection, config, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEquals(
+        Collection<T> expectedCollection,
+        Collection<T> currentCollection,
+        DiffConfig config,
+        DiffKey<T, ?> key) {
+
+        requireNonNull(expectedCollection, "Expected state is required");
+        requireNonNull(currentCollection, "Current state is required");
+        requireNonNull(config, "Config is required");
+        requireNonNull(key, "Key is required");
+
+        Map<Object, T> currentIndex = indexByKey(currentCollection, key);
+        Set<Object> expectedKeys = new HashSet<>(capacity(expectedCollection.size()));
+
+        for (T expected : expectedCollection) {
+            Object expectedKey = key.getKey(expected);
+            T current = currentIndex.get(expectedKey);
+
+            // check the elements that exist on expectedCollection and not exists on currentCollection
+            if (current == null) {
+                return false;
+            }
+
+            // check the elements that exist on both collections
+            if (!isEquals(expected, current, config)) {
+                return false;
+            }
+
+            expectedKeys.add(expectedKey);
+        }
+
+        // every key of currentCollection is on the index, so a missing key means an element added to currentCollection
+        return expectedKeys.size() == currentIndex.size();
+    }
+
+    /**
+     * Indexes the collection by key, keeping the first element of each key like a matcher that finds the first match.
+     */
+    private static <T> Map<Object, T> indexByKey(Collection<T> collection, DiffKey<T, ?> key) {
+        Map<Object, T> index = new HashMap<>(capacity(collection.size()));
+
+        for (T element : collection) {
+            index.putIfAbsent(key.getKey(element), element);
+        }
+
+        return index;
+    }
+
+    private static <T> List<T> randomAccess(Collection<T> collection) {
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            return (List<T>) collection;
+        }
+
+        return new ArrayList<>(collection);
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private DiffConfig createDiffConfig() {
+        return DiffConfigCache.get(ofType);
+    }
+
+}
@@ -0,0 +1,681 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffAccessor;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.strategy.DiffHashCache;
+import com.github.jonpereiradev.diffobjects.strategy.DiffHashes;
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+import com.github.jonpereiradev.diffobjects.strategy.DiffSnapshots;
+import com.github.jonpereiradev.diffobjects.strategy.DiffStrategy;
+import com.github.jonpereiradev.diffobjects.strategy.DiffStrategyType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * Immutable execution plan of a configuration, with the mapped fields frozen into final arrays.
+ * <p>
+ * The plan is created once when the configuration is built and never changes after that, so it is safely published
+ * and shared by all threads without locking. Fields mapped with the {@link DiffStrategyType#SINGLE} strategy are
+ * compared inline, calling the getter accessor and the comparator directly. The other strategies are kept and
+ * executed for their fields.
+ *
+ * @author Jonathan Pereira
+ * @see DiffConfig#getPlan()
+ * @since 1.4.0
+ */
+public final class DiffPlan {
+
+    private static final DiffStrategy SINGLE_STRATEGY = DiffStrategyType.SINGLE.getStrategy();
+    private static final DiffResults EMPTY_RESULTS = new DiffResultsImpl(Collections.emptyList());
+    private static final Map<DiffConfig, DiffPlan> CONFIG_PLANS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DiffMetadata[] metadata;
+    private final DiffAccessor[] accessors;
+    private final DiffComparator<Object>[] comparators;
+    private final Map<String, String>[] properties;
+    private final List<DiffMetadata> metadataList;
+    private final DiffHashCache hashes = new DiffHashCache();
+
+    @SuppressWarnings("unchecked")
+    private DiffPlan(List<DiffMetadata> metadataList) {
+        int size = metadataList.size();
+
+        this.metadata = metadataList.toArray(new DiffMetadata[0]);
+        this.accessors = new DiffAccessor[size];
+        this.comparators = new DiffComparator[size];
+        this.properties = new Map[size];
+        this.metadataList = Collections.unmodifiableList(Arrays.asList(metadata));
+
+        for (int i = 0; i < size; i++) {
+            DiffMetadata value = metadata[i];
+
+            if (value.getStrategy() == SINGLE_STRATEGY) {
+                accessors[i] = value.getAccessor();
+            }
+
+            comparators[i] = (DiffComparator<Object>) value.getComparator();
+            properties[i] = unmodifiableMap(new HashMap<>(value.getProperties()));
+        }
+    }
+
+    /**
+     * Freezes the metadata into a plan, keeping the order of the list.
+     *
+     * @param metadataList the ordered metadata of the configuration.
+     *
+     * @return the plan for the metadata.
+     */
+    public static DiffPlan of(List<DiffMetadata> metadataList) {
+        requireNonNull(metadataList, "Metadata is required");
+        return new DiffPlan(metadataList);
+    }
+
+    /**
+     * Gets the plan of a configuration without its own plan, freezing its metadata on the first call.
+     */
+    static DiffPlan forConfig(DiffConfig config) {
+        return CONFIG_PLANS.computeIfAbsent(config, ofConfig -> of(ofConfig.build()));
+    }
+
+    /**
+     * Gets the metadata of the fields in the order they are checked.
+     *
+     * @return the unmodifiable list of metadata.
+     */
+    public List<DiffMetadata> getMetadata() {
+        return metadataList;
+    }
+
+    /**
+     * Gets the number of fields checked by the plan.
+     *
+     * @return the number of fields.
+     */
+    public int size() {
+        return metadata.length;
+    }
+
+    /**
+     * Gets the field checked at a position of the plan, like {@link DiffResult#getField()}.
+     * <p>
+     * The position is the bit of the field in {@link DiffObjects#changeMask(Object, Object, DiffConfig)} and
+     * {@link DiffObjects#changeSet(Object, Object, DiffConfig)}.
+     *
+     * @param index the position of the field in the plan.
+     *
+     * @return the name of the field.
+     */
+    public String getField(int index) {
+        return properties[index].get("field");
+    }
+
+    /**
+     * Executes the diff for all fields of the plan.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return the result of each field.
+     */
+    DiffResults diff(Object expected, Object current) {
+        List<DiffResult> results = new ArrayList<>(metadata.length);
+        Consumer<DiffResult> consumer = results::add;
+
+        for (int i = 0; i < metadata.length; i++) {
+            if (accessors[i] == null) {
+                // strategies like the deep strategy send a result for each property of the field
+                metadata[i].getStrategy().diff(expected, current, metadata[i], consumer);
+            } else {
+                results.add(diff(i, expected, current));
+            }
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * Executes the diff for all fields of the plan concurrently on the threads of {@link DiffThreads}, with the same
+     * results as {@link #diff(Object, Object)}.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     * @param timeout the maximum time to wait for all fields.
+     *
+     * @return the results of each field, in the order of the plan.
+     *
+     * @throws DiffException if the fields are not evaluated before the timeout or the thread is interrupted.
+     */
+    DiffResults diffConcurrent(Object expected, Object current, Duration timeout) {
+        List<DiffResult> results = new ArrayList<>(metadata.length);
+        List<Future<List<DiffResult>>> futures = new ArrayList<>(metadata.length);
+        ExecutorService executor = DiffThreads.executor();
+
+        try {
+            for (int i = 0; i < metadata.length; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> diffField(index, expected, current)));
+            }
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+
+            // the results of each field are merged in the order of the plan
+            for (Future<List<DiffResult>> future : futures) {
+                results.addAll(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw new DiffException("The diff of a field failed.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new DiffException("The diff didn't finish in " + timeout + ".", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DiffException("The diff was interrupted.", e);
+        } finally {
+            // interrupts the fields still running after a failure or a timeout
+            for (Future<List<DiffResult>> future : futures) {
+                future.cancel(true);
+            }
+
+            DiffThreads.release(executor);
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * Executes the diff for a single field of the plan, with a result for each property of the strategies that send
+     * more than one result, like the deep strategy.
+     */
+    private List<DiffResult> diffField(int index, Object expected, Object current) {
+        if (accessors[index] != null) {
+            return Collections.singletonList(diff(index, expected, current));
+        }
+
+        List<DiffResult> results = new ArrayList<>();
+        diffField(index, expected, current, results);
+        return results;
+    }
+
+    /**
+     * Adds the result of a field that is not compared inline, with a result for each property of the strategies that
+     * send more than one result.
+     *
+     * @param index the index of the field in the plan.
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     * @param results the results of the diff.
+     */
+    void diffField(int index, Object expected, Object current, List<DiffResult> results) {
+        metadata[index].getStrategy().diff(expected, current, metadata[index], results::add);
+    }
+
+    /**
+     * Adds the result of a field compared inline, from the values already read from the objects.
+     *
+     * @param index the index of the field in the plan.
+     * @param expectedValue the value of the field in the expected state.
+     * @param currentValue the value of the field in the current state.
+     * @param results the results of the diff.
+     */
+    void diffValue(int index, Object expectedValue, Object currentValue, List<DiffResult> results) {
+        boolean equals = comparators[index].isEquals(expectedValue, currentValue);
+        results.add(new DiffResultImpl(expectedValue, currentValue, equals, properties[index]));
+    }
+
+    /**
+     * Executes the diff for a single field of the plan.
+     *
+     * @param index the index of the field in the plan.
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return the result of the field.
+     */
+    DiffResult diff(int index, Object expected, Object current) {
+        DiffAccessor accessor = accessors[index];
+
+        if (accessor == null) {
+            return metadata[index].getStrategy().diff(expected, current, metadata[index]);
+        }
+
+        Object expectedValue = accessor.get(expected);
+        Object currentValue = accessor.get(current);
+        boolean equals = comparators[index].isEquals(expectedValue, currentValue);
+
+        return new DiffResultImpl(expectedValue, currentValue, equals, properties[index]);
+    }
+
+    /**
+     * Executes the diff for all fields of the plan, keeping only the results of the fields with differences.
+     * <p>
+     * The equality of each field is checked without creating a result, so equal fields don't allocate results. The
+     * fields that are not {@link DiffStrategyType#SINGLE} are compared once, sending their differences straight to
+     * the results.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return the result of each field with differences.
+     */
+    DiffResults diffChanges(Object expected, Object current) {
+        DiffResultsChanges changes = null;
+
+        for (int i = 0; i < metadata.length; i++) {
+            DiffAccessor accessor = accessors[i];
+
+            if (accessor == null) {
+                changes = changes == null ? new DiffResultsChanges() : changes;
+                diffChangesField(i, expected, current, changes);
+            } else {
+                Object expectedValue = accessor.get(expected);
+                Object currentValue = accessor.get(current);
+
+                if (!comparators[i].isEquals(expectedValue, currentValue)) {
+                    changes = changes == null ? new DiffResultsChanges() : changes;
+                    changes.test(new DiffResultImpl(expectedValue, currentValue, false, properties[i]));
+                }
+            }
+        }
+
+        return changes == null ? EMPTY_RESULTS : changes.toResults();
+    }
+
+    /**
+     * Adds the results with differences of a field that is not compared inline.
+     *
+     * @param index the index of the field in the plan.
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     * @param changes the results with differences.
+     */
+    void diffChangesField(int index, Object expected, Object current, DiffResultsChanges changes) {
+        metadata[index].getStrategy().diffChanges(expected, current, metadata[index], changes);
+    }
+
+    /**
+     * Adds the result of a field compared inline when its values are different.
+     *
+     * @param index the index of the field in the plan.
+     * @param expectedValue the value of the field in the expected state.
+     * @param currentValue the value of the field in the current state.
+     * @param changes the results with differences.
+     */
+    void diffChangesValue(int index, Object expectedValue, Object currentValue, DiffResultsChanges changes) {
+        if (!comparators[index].isEquals(expectedValue, currentValue)) {
+            changes.test(new DiffResultImpl(expectedValue, currentValue, false, properties[index]));
+        }
+    }
+
+    /**
+     * Executes the diff for all fields of the plan, notifying the listener of each field with differences.
+     * <p>
+     * No diff result is created for fields mapped with the {@link DiffStrategyType#SINGLE} strategy. The other fields
+     * notify each of their results with differences, like each property of a {@link DiffStrategyType#DEEP} field.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     * @param listener the listener notified of the differences.
+     *
+     * @return {@code true} if no difference exists between the objects.
+     */
+    boolean diff(Object expected, Object current, DiffListener listener) {
+        DiffListenerChanges changes = new DiffListenerChanges(listener);
+        boolean equals = true;
+
+        for (int i = 0; i < metadata.length; i++) {
+            DiffAccessor accessor = accessors[i];
+
+            if (accessor != null) {
+                Object expectedValue = accessor.get(expected);
+                Object currentValue = accessor.get(current);
+
+                if (comparators[i].isEquals(expectedValue, currentValue)) {
+                    continue;
+                }
+
+                equals = false;
+
+                if (!listener.onDifference(properties[i].get("field"), expectedValue, currentValue, properties[i])) {
+                    return false;
+                }
+            } else {
+                changes.properties = properties[i];
+
+                if (!metadata[i].getStrategy().diffChanges(expected, current, metadata[i], changes)) {
+                    return false;
+                }
+            }
+        }
+
+        return equals && !changes.changed;
+    }
+
+    /**
+     * Collects the results with differences, creating the list on the first one.
+     */
+    static final class DiffResultsChanges implements Predicate<DiffResult> {
+
+        private List<DiffResult> results;
+
+        @Override
+        public boolean test(DiffResult result) {
+            if (results == null) {
+                results = new ArrayList<>();
+            }
+
+            results.add(result);
+            return true;
+        }
+
+        DiffResults toResults() {
+            return results == null ? EMPTY_RESULTS : new DiffResultsImpl(results);
+        }
+    }
+
+    /**
+     * Forwards the results with differences of the fields that are not {@link DiffStrategyType#SINGLE} to a listener.
+     * The properties of each result, like the path of a {@link DiffStrategyType#DEEP} leaf in its {@code field}, are
+     * sent to the listener, or the properties of the field for results of other implementations.
+     */
+    private static final class DiffListenerChanges implements Predicate<DiffResult> {
+
+        private final DiffListener listener;
+
+        private Map<String, String> properties;
+        private boolean changed;
+
+        private DiffListenerChanges(DiffListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean test(DiffResult result) {
+            Map<String, String> resultProperties = result instanceof DiffResultImpl
+                ? ((DiffResultImpl) result).getProperties()
+                : properties;
+
+            changed = true;
+            return listener.onDifference(result.getField(), result.getExpected(), result.getCurrent(), resultProperties);
+        }
+    }
+
+    /**
+     * Checks if all fields of the plan are equal, stopping on the first difference.
+     * <p>
+     * No diff result is created, so the check doesn't allocate for the strategies of the library.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return {@code true} if no difference exists between the objects.
+     */
+    boolean isEquals(Object expected, Object current) {
+        for (int i = 0; i < metadata.length; i++) {
+            if (!isEquals(i, expected, current)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks which fields of the plan are different, with one bit per field in the order of the plan.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return the mask with the bits of the fields with differences set.
+     *
+     * @throws DiffException if the plan has more than 64 fields.
+     */
+    long changeMask(Object expected, Object current) {
+        if (metadata.length > Long.SIZE) {
+            throw new DiffException("The plan has " + metadata.length + " fields, more than the " + Long.SIZE + " bits of a mask.");
+        }
+
+        long mask = 0L;
+
+        for (int i = 0; i < metadata.length; i++) {
+            if (!isEquals(i, expected, current)) {
+                mask |= 1L << i;
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Checks which fields of the plan are different, with one bit per field in the order of the plan.
+     *
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return the set with the bits of the fields with differences set.
+     */
+    BitSet changeSet(Object expected, Object current) {
+        BitSet changes = new BitSet(metadata.length);
+
+        for (int i = 0; i < metadata.length; i++) {
+            if (!isEquals(i, expected, current)) {
+                changes.set(i);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Captures the values of all fields of the plan, reading each getter once.
+     *
+     * @param object the object to capture.
+     *
+     * @return the snapshot with the values in the order of the plan.
+     */
+    DiffSnapshot snapshot(Object object) {
+        Object[] values = new Object[metadata.length];
+
+        for (int i = 0; i < metadata.length; i++) {
+            DiffAccessor accessor = accessors[i];
+            values[i] = accessor == null
+                ? metadata[i].getStrategy().snapshot(object, metadata[i])
+                : DiffSnapshots.copy(accessor.get(object));
+        }
+
+        return new DiffSnapshot(this, values);
+    }
+
+    /**
+     * Executes the diff for all fields of the plan between a snapshot captured by the plan and an object.
+     *
+     * @param snapshot the snapshot with the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return the result of each field.
+     */
+    DiffResults diff(DiffSnapshot snapshot, Object current) {
+        List<DiffResult> results = new ArrayList<>(metadata.length);
+        Consumer<DiffResult> consumer = results::add;
+
+        for (int i = 0; i < metadata.length; i++) {
+            DiffAccessor accessor = accessors[i];
+            Object expectedValue = snapshot.getValue(i);
+
+            if (accessor == null) {
+                metadata[i].getStrategy().diffSnapshot(expectedValue, current, metadata[i], consumer);
+            } else {
+                Object currentValue = accessor.get(current);
+                boolean equals = comparators[i].isEquals(expectedValue, currentValue);
+
+                results.add(new DiffResultImpl(expectedValue, currentValue, equals, properties[i]));
+            }
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    /**
+     * Checks if any field of the plan is different between a snapshot captured by the plan and an object, stopping on
+     * the first difference.
+     *
+     * @param snapshot the snapshot with the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return {@code true} if a difference exists between the snapshot and the object.
+     */
+    boolean isDirty(DiffSnapshot snapshot, Object current) {
+        for (int i = 0; i < metadata.length; i++) {
+            DiffAccessor accessor = accessors[i];
+            Object expectedValue = snapshot.getValue(i);
+
+            boolean equals = accessor == null
+                ? metadata[i].getStrategy().isEqualsSnapshot(expectedValue, current, metadata[i])
+                : comparators[i].isEquals(expectedValue, accessor.get(current));
+
+            if (!equals) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the structural hash of the fields of the plan, combined in the order of the plan.
+     * <p>
+     * The hashes of objects of immutable classes are cached by instance for the plan.
+     *
+     * @param object the object to hash.
+     *
+     * @return the 64-bit hash of the fields.
+     */
+    long hash(Object object) {
+        if (DiffHashes.isImmutable(object.getClass())) {
+            return hashes.get(object, this::hashFields);
+        }
+
+        return hashFields(object);
+    }
+
+    private long hashFields(Object object) {
+        long hash = metadata.length;
+
+        for (int i = 0; i < metadata.length; i++) {
+            hash = DiffHashes.combine(hash, hash(i, object));
+        }
+
+        return hash;
+    }
+
+    /**
+     * Gets the structural hash of a single field of the plan.
+     *
+     * @param index the index of the field in the plan.
+     * @param object the object to hash.
+     *
+     * @return the 64-bit hash of the field.
+     */
+    long hash(int index, Object object) {
+        DiffAccessor accessor = accessors[index];
+
+        if (accessor == null) {
+            return metadata[index].getStrategy().hash(object, metadata[index]);
+        }
+
+        return DiffHashes.hash(accessor.get(object));
+    }
+
+    /**
+     * Checks if a field of the plan is compared inline, reading its value with {@link #get(int, Object)}.
+     *
+     * @param index the index of the field in the plan.
+     *
+     * @return {@code true} if the field is mapped with the {@link DiffStrategyType#SINGLE} strategy.
+     */
+    boolean isInline(int index) {
+        return accessors[index] != null;
+    }
+
+    /**
+     * Reads the value of a field compared inline.
+     *
+     * @param index the index of the field in the plan.
+     * @param object the object to read.
+     *
+     * @return the value returned by the getter of the field.
+     */
+    Object get(int index, Object object) {
+        return accessors[index].get(object);
+    }
+
+    /**
+     * Checks if two values of a field compared inline are equal, using the comparator of the field.
+     *
+     * @param index the index of the field in the plan.
+     * @param expectedValue the expected value of the field.
+     * @param currentValue the current value of the field.
+     *
+     * @return {@code true} if the values are equal.
+     */
+    boolean isEqualsValue(int index, Object expectedValue, Object currentValue) {
+        return comparators[index].isEquals(expectedValue, currentValue);
+    }
+
+    /**
+     * Checks if a single field of the plan is equal.
+     *
+     * @param index the index of the field in the plan.
+     * @param expected the expected state of the object.
+     * @param current the current state of the object.
+     *
+     * @return {@code true} if the field is equal.
+     */
+    boolean isEquals(int index, Object expected, Object current) {
+        DiffAccessor accessor = accessors[index];
+
+        if (accessor == null) {
+            return metadata[index].getStrategy().isEquals(expected, current, metadata[index]);
+        }
+
+        return comparators[index].isEquals(accessor.get(expected), accessor.get(current));
+    }
+
+    /**
+     * Gets the comparator of a field of the plan.
+     *
+     * @param index the index of the field in the plan.
+     *
+     * @return the comparator of the field.
+     */
+    DiffComparator<Object> getComparator(int index) {
+        return comparators[index];
+    }
+
+}
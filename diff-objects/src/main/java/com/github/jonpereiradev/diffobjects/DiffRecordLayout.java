@@ -0,0 +1,317 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
+import com.github.jonpereiradev.diffobjects.comparator.IndexComparator;
+import com.github.jonpereiradev.diffobjects.comparator.UnorderedComparator;
+import com.github.jonpereiradev.diffobjects.strategy.DiffHashes;
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+
+/**
+ * Packs the fields of an object into a fixed-size record of a byte buffer, laid out from a {@link DiffPlan}.
+ * <p>
+ * Each field of the plan has a slot of {@link #SLOT_SIZE} bytes in the order of the plan: a tag with the kind of the
+ * value followed by 8 bytes of payload. Boxed primitives are stored inline, strings as the id of a dictionary entry
+ * and any other value, including the fields not compared inline by the plan, as their structural hash. The packed
+ * values are checked against the live values with the comparator of each field, while hashed values are checked
+ * against the structural hash of the live value. The layouts of persisted records pack the hashes stable across runs
+ * of {@link DiffHashes#stableHash(Object)} instead of the hashes of the plan. A field that can be packed as a hash must be compared with
+ * {@code equals}, so a layout with a custom comparator on such a field is rejected when it is created.
+ *
+ * @author Jonathan Pereira
+ * @see DiffSnapshotStore
+ * @since 1.4.0
+ */
+final class DiffRecordLayout {
+
+    static final int SLOT_SIZE = Byte.BYTES + Long.BYTES;
+
+    private static final String LAMBDA_SEPARATOR = "$$Lambda";
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte CHARACTER = 4;
+    private static final byte INTEGER = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte STRING = 9;
+    private static final byte HASH = 10;
+
+    private static final Set<Class<?>> INLINE_TYPES = Set.of(
+        Boolean.class,
+        Byte.class,
+        Short.class,
+        Character.class,
+        Integer.class,
+        Long.class,
+        Float.class,
+        Double.class
+    );
+
+    private final DiffPlan plan;
+    private final boolean stable;
+    private final int recordSize;
+
+    /**
+     * Creates the layout of the records of a plan.
+     *
+     * @param plan the plan with the fields of the records.
+     * @param stable {@code true} to pack the hashes of {@link DiffHashes#stableHash(Object)}, the same across runs, for
+     * records persisted to files, or {@code false} to pack the faster hashes of the plan.
+     */
+    DiffRecordLayout(DiffPlan plan, boolean stable) {
+        this.plan = plan;
+        this.stable = stable;
+        this.recordSize = plan.size() * SLOT_SIZE;
+
+        for (int i = 0; i < plan.size(); i++) {
+            checkComparator(i);
+        }
+    }
+
+    /**
+     * Checks that a field packed as a structural hash is compared consistently with the hash: with {@code equals}, by
+     * index for collections, or regardless of order for the collections hashed regardless of order.
+     */
+    private void checkComparator(int index) {
+        DiffComparator<?> comparator = plan.getMetadata().get(index).getComparator();
+
+        // the stable hashes don't use the hash of a subclass of the unordered comparator
+        if (isPackedInline(index)
+            || comparator.getClass() == EqualsComparator.class
+            || comparator.getClass() == IndexComparator.class
+            || comparator instanceof UnorderedComparator && (!stable || comparator.getClass() == UnorderedComparator.class)) {
+            return;
+        }
+
+        throw new DiffException("The field " + plan.getField(index) + " is packed as a hash, so it can't be compared with "
+            + comparator.getClass().getName() + ". Map it with a value stored inline or with the equals comparator.");
+    }
+
+    /**
+     * Checks if the values of a field are always packed inline, so they are compared with the comparator of the field.
+     */
+    private boolean isPackedInline(int index) {
+        Class<?> type = plan.getMetadata().get(index).getMethod().getReturnType();
+
+        return plan.isInline(index)
+            && (type.isPrimitive() || type == String.class || INLINE_TYPES.contains(type));
+    }
+
+    /**
+     * Gets the plan of the layout.
+     *
+     * @return the plan with the fields of the records.
+     */
+    DiffPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gets the number of bytes of a record.
+     *
+     * @return the size of a record.
+     */
+    int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Gets the fingerprint of the layout, combining the fields of the plan with their strategies and comparators.
+     * <p>
+     * Records packed with a layout can only be read by a layout with the same fingerprint, so a changed mapping is
+     * detected before the records are read.
+     *
+     * @return the 64-bit fingerprint of the layout.
+     */
+    long getFingerprint() {
+        long fingerprint = DiffHashes.combine(plan.size(), SLOT_SIZE);
+
+        for (int i = 0; i < plan.size(); i++) {
+            DiffMetadata metadata = plan.getMetadata().get(i);
+
+            fingerprint = DiffHashes.combine(fingerprint, DiffHashes.hash(plan.getField(i)));
+            fingerprint = DiffHashes.combine(fingerprint, DiffHashes.hash(metadata.getMethod().getName()));
+            fingerprint = DiffHashes.combine(fingerprint, DiffHashes.hash(metadata.getValue()));
+            fingerprint = DiffHashes.combine(fingerprint, DiffHashes.hash(className(metadata.getStrategy().getClass())));
+            fingerprint = DiffHashes.combine(fingerprint, DiffHashes.hash(className(metadata.getComparator().getClass())));
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Gets the name of a class without the generated suffix of lambdas, which changes across runs.
+     */
+    private static String className(Class<?> type) {
+        String name = type.getName();
+        int lambda = name.indexOf(LAMBDA_SEPARATOR);
+
+        return lambda < 0 ? name : name.substring(0, lambda + LAMBDA_SEPARATOR.length());
+    }
+
+    /**
+     * Packs the fields of an object into the record at the offset.
+     *
+     * @param buffer the buffer of the records.
+     * @param offset the position of the record in the buffer.
+     * @param object the object to pack.
+     * @param strings gets the id of a string in the dictionary, adding it when it is not there.
+     */
+    void write(ByteBuffer buffer, int offset, Object object, ToIntFunction<String> strings) {
+        for (int i = 0, slot = offset; i < plan.size(); i++, slot += SLOT_SIZE) {
+            if (plan.isInline(i)) {
+                writeValue(buffer, slot, i, plan.get(i, object), strings);
+            } else {
+                writeSlot(buffer, slot, HASH, hash(i, object));
+            }
+        }
+    }
+
+    /**
+     * Gets the hash of a field that is not compared inline by the plan.
+     */
+    private long hash(int index, Object object) {
+        if (!stable) {
+            return plan.hash(index, object);
+        }
+
+        DiffMetadata metadata = plan.getMetadata().get(index);
+
+        try {
+            Object value = metadata.getStrategy().snapshot(object, metadata);
+
+            if (metadata.getComparator() instanceof UnorderedComparator && value instanceof Collection) {
+                return DiffHashes.stableHashUnordered((Collection<?>) value);
+            }
+
+            return DiffHashes.stableHash(value);
+        } catch (DiffException e) {
+            throw new DiffException("The field " + plan.getField(index) + " can't be persisted. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the hash of a value of a field compared inline that is not packed inline.
+     */
+    private long hashValue(int index, Object value) {
+        if (!stable) {
+            return DiffHashes.hash(value);
+        }
+
+        try {
+            return DiffHashes.stableHash(value);
+        } catch (DiffException e) {
+            throw new DiffException("The field " + plan.getField(index) + " can't be persisted. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Releases the strings referenced by the record at the offset.
+     *
+     * @param buffer the buffer of the records.
+     * @param offset the position of the record in the buffer.
+     * @param strings releases the reference to the string of an id.
+     */
+    void releaseStrings(ByteBuffer buffer, int offset, IntConsumer strings) {
+        for (int i = 0, slot = offset; i < plan.size(); i++, slot += SLOT_SIZE) {
+            if (buffer.get(slot) == STRING) {
+                strings.accept((int) buffer.getLong(slot + Byte.BYTES));
+            }
+        }
+    }
+
+    private void writeValue(ByteBuffer buffer, int slot, int index, Object value, ToIntFunction<String> strings) {
+        if (value == null) {
+            writeSlot(buffer, slot, NULL, 0L);
+        } else if (value instanceof String) {
+            writeSlot(buffer, slot, STRING, strings.applyAsInt((String) value));
+        } else if (value instanceof Integer) {
+            writeSlot(buffer, slot, INTEGER, (Integer) value);
+        } else if (value instanceof Long) {
+            writeSlot(buffer, slot, LONG, (Long) value);
+        } else if (value instanceof Boolean) {
+            writeSlot(buffer, slot, BOOLEAN, (Boolean) value ? 1L : 0L);
+        } else if (value instanceof Double) {
+            writeSlot(buffer, slot, DOUBLE, Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Float) {
+            writeSlot(buffer, slot, FLOAT, Float.floatToRawIntBits((Float) value));
+        } else if (value instanceof Short) {
+            writeSlot(buffer, slot, SHORT, (Short) value);
+        } else if (value instanceof Byte) {
+            writeSlot(buffer, slot, BYTE, (Byte) value);
+        } else if (value instanceof Character) {
+            writeSlot(buffer, slot, CHARACTER, (Character) value);
+        } else {
+            writeSlot(buffer, slot, HASH, hashValue(index, value));
+        }
+    }
+
+    private static void writeSlot(ByteBuffer buffer, int slot, byte tag, long payload) {
+        buffer.put(slot, tag);
+        buffer.putLong(slot + Byte.BYTES, payload);
+    }
+
+    /**
+     * Checks if a field packed in the record at the offset is equal to the field of an object.
+     *
+     * @param index the index of the field in the plan.
+     * @param buffer the buffer of the records.
+     * @param offset the position of the record in the buffer.
+     * @param current the object with the current state.
+     * @param strings gets the string of an id of the dictionary.
+     *
+     * @return {@code true} if the packed field is equal to the field of the object.
+     */
+    boolean isEquals(int index, ByteBuffer buffer, int offset, Object current, IntFunction<String> strings) {
+        int slot = offset + index * SLOT_SIZE;
+        byte tag = buffer.get(slot);
+        long payload = buffer.getLong(slot + Byte.BYTES);
+
+        if (tag == HASH) {
+            return payload == (plan.isInline(index) ? hashValue(index, plan.get(index, current)) : hash(index, current));
+        }
+
+        return plan.isEqualsValue(index, readValue(tag, payload, strings), plan.get(index, current));
+    }
+
+    private static Object readValue(byte tag, long payload, IntFunction<String> strings) {
+        switch (tag) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return payload != 0L;
+            case BYTE:
+                return (byte) payload;
+            case SHORT:
+                return (short) payload;
+            case CHARACTER:
+                return (char) payload;
+            case INTEGER:
+                return (int) payload;
+            case LONG:
+                return payload;
+            case FLOAT:
+                return Float.intBitsToFloat((int) payload);
+            case DOUBLE:
+                return Double.longBitsToDouble(payload);
+            case STRING:
+                return strings.apply((int) payload);
+            default:
+                throw new DiffException("The record has an unknown value tag " + tag + ".");
+        }
+    }
+
+}
@@ -29,6 +29,13 @@ final class DiffResultImpl implements DiffResult {
         return getProperty("field");
     }
 
+    /**
+     * Gets the unmodifiable properties of the result, like the {@code field} of the result.
+     */
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
     @Override
     public boolean containsProperty(String name) {
         return properties.containsKey(name);
@@ -8,6 +8,10 @@ import java.util.stream.Stream;
 
 public interface DiffResults extends Iterable<DiffResult> {
 
+    static DiffResults forResults(List<DiffResult> results) {
+        return new DiffResultsImpl(results);
+    }
+
     List<DiffResult> getResults();
 
     default Stream<DiffResult> stream() {
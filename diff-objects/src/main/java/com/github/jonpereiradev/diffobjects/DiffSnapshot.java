@@ -0,0 +1,63 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+/**
+ * Immutable snapshot of the mapped values of an object, captured once to be compared later with the live object.
+ * <p>
+ * The values are laid out in the order of the {@link DiffPlan} they were captured with: the value returned by the
+ * getter for simple fields, the value at the end of the path for nested fields, a copy of the compared element
+ * values for collections and the leaves by path for deep mappings.
+ * <p>
+ * The collections, maps, arrays, dates and calendars are copied when they are captured, and the other values are kept
+ * by reference and compared with the comparator of the field. A simple or nested field that returns a mutable object,
+ * like an association of an entity, is dirty when the getter returns an instance that is not equal to the captured
+ * one, but not when the captured instance is changed in place. The elements of the copies and the other leaves of
+ * deep mappings are captured by reference too. Map the properties of mutable values with a nested or deep mapping to
+ * capture their state.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#snapshot(Object, DiffConfig)
+ * @since 1.4.0
+ */
+public final class DiffSnapshot {
+
+    private final DiffPlan plan;
+    private final Object[] values;
+
+    DiffSnapshot(DiffPlan plan, Object[] values) {
+        this.plan = plan;
+        this.values = values;
+    }
+
+    /**
+     * Gets the plan used to capture the snapshot.
+     *
+     * @return the plan with the layout of the values.
+     */
+    public DiffPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gets the number of values captured, one for each field of the plan.
+     *
+     * @return the number of values.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Gets the value captured for a field, in the position of the field in the plan.
+     *
+     * @param index the position of the field in the plan.
+     *
+     * @return the captured value.
+     *
+     * @see DiffPlan#getField(int)
+     */
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+}
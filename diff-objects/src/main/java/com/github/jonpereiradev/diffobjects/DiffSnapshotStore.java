@@ -0,0 +1,280 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+import static java.util.Objects.requireNonNull;
+
+
+/**
+ * Store of snapshots packed off-heap, for dirty checking of large numbers of tracked objects.
+ * <p>
+ * Each tracked object has a fixed-size record in a direct byte buffer, laid out from the plan of the configuration:
+ * boxed primitives are stored inline, strings as the id of an entry of a dictionary shared by all records and the
+ * other values as their structural hash, like {@link DiffObjects#hash(Object, DiffConfig)}. The records don't create
+ * objects on the heap, so the heap used by the store only grows with the number of distinct strings of the current
+ * records: the strings no longer referenced by a record are removed from the dictionary when the record is updated or
+ * untracked. The records of untracked objects are reused by the next tracked objects.
+ * <p>
+ * The values stored inline and the strings are checked with the comparator of the field. The hashed values are
+ * checked against the structural hash of the current value, so fields with a custom comparator must return values
+ * stored inline, and {@link #forConfig(DiffConfig, int)} rejects the configurations with a custom comparator on a
+ * field that can be hashed. The store is not thread-safe.
+ *
+ * @author Jonathan Pereira
+ * @see DiffSnapshot
+ * @since 1.4.0
+ */
+public final class DiffSnapshotStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final DiffRecordLayout layout;
+    private final DiffStringDictionary strings = new DiffStringDictionary();
+
+    private final ByteBuffer scratch;
+    private final BitSet untracked = new BitSet();
+    private final Deque<Integer> released = new ArrayDeque<>();
+
+    private ByteBuffer records;
+    private int size;
+
+    private DiffSnapshotStore(DiffPlan plan, int capacity) {
+        this.layout = new DiffRecordLayout(plan, false);
+        this.scratch = ByteBuffer.allocate(layout.getRecordSize());
+        this.records = allocate(capacity);
+    }
+
+    /**
+     * Creates a store for the objects of a configuration.
+     *
+     * @param config the diff configuration metadata.
+     *
+     * @return the empty store.
+     */
+    public static DiffSnapshotStore forConfig(DiffConfig config) {
+        return forConfig(config, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a store for the objects of a configuration, with room for a number of objects before growing.
+     *
+     * @param config the diff configuration metadata.
+     * @param capacity the number of objects stored before the store grows.
+     *
+     * @return the empty store.
+     *
+     * @throws DiffException if the capacity is not positive or a field that can be hashed has a custom comparator.
+     */
+    public static DiffSnapshotStore forConfig(DiffConfig config, int capacity) {
+        requireNonNull(config, "Config is required");
+
+        if (capacity < 1) {
+            throw new DiffException("The capacity of the snapshot store must be positive.");
+        }
+
+        return new DiffSnapshotStore(config.getPlan(), capacity);
+    }
+
+    /**
+     * Packs the fields of an object into a new record, reusing the record of an untracked object when there is one.
+     *
+     * @param object the object to track.
+     *
+     * @return the id of the record, used to check the object later.
+     */
+    public int track(Object object) {
+        requireNonNull(object, "Object is required");
+
+        if (released.isEmpty() && size == capacity()) {
+            grow();
+        }
+
+        pack(object);
+
+        if (!released.isEmpty()) {
+            int id = released.pop();
+            untracked.clear(id);
+            copy(id);
+            return id;
+        }
+
+        int id = size;
+        copy(id);
+        size++;
+
+        return id;
+    }
+
+    /**
+     * Removes the record of an object no longer tracked, like after the object is evicted, releasing its strings. The
+     * id is reused by the next tracked object, so it must not be used after this call.
+     *
+     * @param id the id of the record.
+     */
+    public void untrack(int id) {
+        checkId(id);
+        layout.releaseStrings(records, offset(id), strings::release);
+        untracked.set(id);
+        released.push(id);
+    }
+
+    /**
+     * Replaces the record of a tracked object with its current fields, like after the object is saved.
+     *
+     * @param id the id of the record.
+     * @param object the object with the state to keep.
+     */
+    public void update(int id, Object object) {
+        requireNonNull(object, "Object is required");
+        checkId(id);
+        pack(object);
+
+        // the strings of the new record are referenced before the old ones are released, so shared strings are kept
+        layout.releaseStrings(records, offset(id), strings::release);
+        copy(id);
+    }
+
+    /**
+     * Packs the fields of an object into the scratch record, so a failure reading the fields doesn't leave a
+     * half-written record in the store.
+     */
+    private void pack(Object object) {
+        scratch.clear();
+
+        while (scratch.hasRemaining()) {
+            scratch.put((byte) 0);
+        }
+
+        try {
+            layout.write(scratch, 0, object, strings::id);
+        } catch (RuntimeException | Error e) {
+            // the slots not written are empty, so only the strings written before the failure are released
+            layout.releaseStrings(scratch, 0, strings::release);
+            throw e;
+        }
+    }
+
+    private void copy(int id) {
+        ByteBuffer record = records.duplicate();
+
+        record.position(offset(id));
+        scratch.clear();
+        record.put(scratch);
+    }
+
+    /**
+     * Checks if any field of an object is different from its record, stopping on the first difference.
+     *
+     * @param id the id of the record.
+     * @param current the current state of the object.
+     *
+     * @return {@code true} if any field changed since the object was tracked or updated.
+     */
+    public boolean isDirty(int id, Object current) {
+        requireNonNull(current, "Current state is required");
+        int offset = offset(checkId(id));
+
+        for (int i = 0; i < layout.getPlan().size(); i++) {
+            if (!layout.isEquals(i, records, offset, current, strings::get)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks which fields of an object are different from its record, with one bit per field in the order of the plan.
+     *
+     * @param id the id of the record.
+     * @param current the current state of the object.
+     *
+     * @return the set with the bits of the fields with differences set.
+     *
+     * @see DiffPlan#getField(int)
+     */
+    public BitSet changeSet(int id, Object current) {
+        requireNonNull(current, "Current state is required");
+        int offset = offset(checkId(id));
+        BitSet changes = new BitSet(layout.getPlan().size());
+
+        for (int i = 0; i < layout.getPlan().size(); i++) {
+            if (!layout.isEquals(i, records, offset, current, strings::get)) {
+                changes.set(i);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Gets the number of tracked objects.
+     *
+     * @return the number of records, without the records of untracked objects.
+     */
+    public int size() {
+        return size - released.size();
+    }
+
+    /**
+     * Gets the number of distinct strings referenced by the records.
+     */
+    int getStringCount() {
+        return strings.count();
+    }
+
+    /**
+     * Gets the number of bytes allocated off-heap for the records.
+     *
+     * @return the capacity of the buffer in bytes.
+     */
+    public long getOffHeapSize() {
+        return records.capacity();
+    }
+
+    private int capacity() {
+        return layout.getRecordSize() == 0 ? Integer.MAX_VALUE : records.capacity() / layout.getRecordSize();
+    }
+
+    private void grow() {
+        long capacity = (long) capacity() * 2;
+
+        if (capacity * layout.getRecordSize() > Integer.MAX_VALUE) {
+            throw new DiffException("The snapshot store can't hold more than " + capacity() + " objects.");
+        }
+
+        ByteBuffer grown = allocate((int) capacity);
+        ByteBuffer current = records.duplicate();
+
+        current.clear();
+        grown.put(current);
+        records = grown;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        long bytes = (long) capacity * layout.getRecordSize();
+
+        if (bytes > Integer.MAX_VALUE) {
+            throw new DiffException("The snapshot store can't hold " + capacity + " objects.");
+        }
+
+        return ByteBuffer.allocateDirect((int) bytes);
+    }
+
+    private int offset(int id) {
+        return id * layout.getRecordSize();
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= size || untracked.get(id)) {
+            throw new DiffException("The record " + id + " is not in the snapshot store.");
+        }
+
+        return id;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Dictionary of the strings packed in records, each distinct string stored once and identified by its position.
+ * <p>
+ * Each string counts the records that reference it. A string released by all its records is removed and its id is
+ * reused by the next string added, so the dictionary only keeps the strings of the current records.
+ *
+ * @author Jonathan Pereira
+ * @see DiffRecordLayout
+ * @since 1.4.0
+ */
+final class DiffStringDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final List<Integer> references = new ArrayList<>();
+    private final Deque<Integer> released = new ArrayDeque<>();
+
+    /**
+     * Gets the id of a string for a new reference, adding it to the dictionary when it is not there.
+     *
+     * @param value the string.
+     *
+     * @return the id of the string.
+     */
+    int id(String value) {
+        Integer id = ids.get(value);
+
+        if (id != null) {
+            references.set(id, references.get(id) + 1);
+            return id;
+        }
+
+        if (released.isEmpty()) {
+            id = strings.size();
+            strings.add(value);
+            references.add(1);
+        } else {
+            id = released.pop();
+            strings.set(id, value);
+            references.set(id, 1);
+        }
+
+        ids.put(value, id);
+        return id;
+    }
+
+    /**
+     * Releases a reference to the string of an id, removing the string when it has no references left.
+     *
+     * @param id the id of the string.
+     */
+    void release(int id) {
+        int count = references.get(id) - 1;
+        references.set(id, count);
+
+        if (count == 0) {
+            ids.remove(strings.get(id));
+            strings.set(id, null);
+            released.push(id);
+        }
+    }
+
+    /**
+     * Gets the string of an id.
+     *
+     * @param id the id of the string.
+     *
+     * @return the string.
+     */
+    String get(int id) {
+        return strings.get(id);
+    }
+
+    /**
+     * Gets the number of ids of the dictionary, including the ids of removed strings not reused yet.
+     *
+     * @return the number of ids.
+     */
+    int size() {
+        return strings.size();
+    }
+
+    /**
+     * Gets the number of strings referenced by the records.
+     *
+     * @return the number of strings.
+     */
+    int count() {
+        return ids.size();
+    }
+
+}
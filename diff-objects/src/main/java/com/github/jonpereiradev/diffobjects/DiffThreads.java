@@ -0,0 +1,57 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Provides the threads that evaluate the fields of a concurrent diff.
+ * <p>
+ * This implementation is used before Java 21 and evaluates the fields on a shared pool of daemon platform threads. The
+ * pool starts a thread when no idle thread is available and keeps the idle threads for a minute, so the diffs reuse
+ * the threads of the previous diffs and the fields of a diff never wait for a thread behind getters blocked on I/O.
+ * The number of threads grows with the number of fields evaluated at the same time by all diffs. The multi-release jar
+ * replaces it on Java 21 or later with an implementation that starts a virtual thread per field.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#diffConcurrent(Object, Object, DiffConfig, java.time.Duration)
+ * @since 1.4.0
+ */
+final class DiffThreads {
+
+    static final String THREAD_NAME_PREFIX = "diff-objects-field-";
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+    private static final ThreadFactory FACTORY = task -> {
+        Thread thread = new Thread(task, THREAD_NAME_PREFIX + COUNT.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(FACTORY);
+
+    private DiffThreads() {
+    }
+
+    /**
+     * Gets the executor of a diff, the shared pool of field threads.
+     *
+     * @return the executor, released by the caller with {@link #release(ExecutorService)} when the diff finishes.
+     */
+    static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Releases the executor of a diff. The shared pool is kept for the next diffs.
+     *
+     * @param executor the executor of the diff.
+     */
+    static void release(ExecutorService executor) {
+        // the tasks of the diff are cancelled by the caller, the threads are kept for the next diffs
+    }
+
+}
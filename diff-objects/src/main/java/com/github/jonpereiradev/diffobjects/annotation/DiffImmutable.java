@@ -0,0 +1,25 @@
+package com.github.jonpereiradev.diffobjects.annotation;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks a class whose instances never change after they are created, so their structural hashes are cached by
+ * instance and compared before the deep diff walks their properties.
+ * <p>
+ * The equality check of a deep mapping doesn't walk the subtrees of marked objects with the same hash when every leaf
+ * of the subtrees is hashed over its whole content, like strings, numbers, enums and the collections of these values.
+ * The subtrees with other leaves are always walked.
+ *
+ * @author Jonathan Pereira
+ * @see com.github.jonpereiradev.diffobjects.DiffObjects#hash(Object)
+ * @since 1.4.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface DiffImmutable {
+}
@@ -0,0 +1,26 @@
+package com.github.jonpereiradev.diffobjects.builder;
+
+
+/**
+ * Reads the value of a mapped getter from an instance.
+ * <p>
+ * The accessor is created once when the mapping is built, so the diff execution does not need to go through
+ * {@link java.lang.reflect.Method#invoke(Object, Object...)} for every value.
+ *
+ * @author Jonathan Pereira
+ * @see DiffReflections#newAccessor(java.lang.reflect.Method)
+ * @since 1.4.0
+ */
+@FunctionalInterface
+public interface DiffAccessor {
+
+    /**
+     * Gets the value of the getter from the instance.
+     *
+     * @param instance the non-null object instance that contains the getter.
+     *
+     * @return the value returned by the getter.
+     */
+    Object get(Object instance);
+
+}
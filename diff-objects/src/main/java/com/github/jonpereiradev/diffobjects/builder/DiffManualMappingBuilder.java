@@ -31,4 +31,29 @@ public interface DiffManualMappingBuilder<T> extends DiffMappingBuilder<T> {
      */
     <C> DiffManualMappingBuilder<T> map(String name, DiffComparator<C> comparator);
 
+    /**
+     * Maps a property by name, walking its object graph recursively with the
+     * {@link com.github.jonpereiradev.diffobjects.strategy.DiffStrategyType#DEEP} strategy.
+     *
+     * @param name the name that identifies the property for mapping.
+     *
+     * @return an instance of the mapped property.
+     *
+     * @since 1.4.0
+     */
+    DiffManualMappingBuilder<T> deep(String name);
+
+    /**
+     * Maps a property by name, walking its object graph recursively with custom limits.
+     *
+     * @param name the name that identifies the property for mapping.
+     * @param maxDepth the depth of the graph where the objects are compared with {@code equals} instead of walked.
+     * @param maxNodes the maximum number of objects walked in a diff.
+     *
+     * @return an instance of the mapped property.
+     *
+     * @since 1.4.0
+     */
+    DiffManualMappingBuilder<T> deep(String name, int maxDepth, int maxNodes);
+
 }
@@ -10,7 +10,9 @@ import com.github.jonpereiradev.diffobjects.annotation.DiffProperty;
 import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 
 
 final class DiffMappingAnnotationsBuilderImpl<T> implements DiffMappingBuilder<T> {
@@ -33,7 +35,7 @@ final class DiffMappingAnnotationsBuilderImpl<T> implements DiffMappingBuilder<T
     private void mapAllMethods() {
         DiffManualMappingBuilder<?> mapping = new DiffMappingFieldBuilderImpl<>(context);
 
-        for (Method method : context.getOfType().getMethods()) {
+        for (Method method : methods()) {
             if (!method.isAnnotationPresent(DiffIgnore.class)) {
                 mapping.map(method.getName());
             }
@@ -46,7 +48,7 @@ final class DiffMappingAnnotationsBuilderImpl<T> implements DiffMappingBuilder<T
     private void mapAnnotationsMethods() {
         DiffManualMappingBuilder<?> mapping = new DiffMappingFieldBuilderImpl<>(context);
 
-        for (Method method : context.getOfType().getMethods()) {
+        for (Method method : methods()) {
             if (method.isAnnotationPresent(DiffMapping.class)) {
                 mapping(mapping, method, method.getAnnotation(DiffMapping.class));
             } else if (method.isAnnotationPresent(DiffMappings.class)) {
@@ -57,6 +59,17 @@ final class DiffMappingAnnotationsBuilderImpl<T> implements DiffMappingBuilder<T
         }
     }
 
+    /**
+     * Gets the public methods of the class sorted by name, because the order of {@link Class#getMethods()} is not
+     * specified. The annotation processor maps the fields in the same order, so the generated differs and the runtime
+     * mapping return the results in the same order.
+     */
+    private Method[] methods() {
+        Method[] methods = context.getOfType().getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        return methods;
+    }
+
     private static void mapping(DiffManualMappingBuilder<?> builder, Method method, DiffMapping diffMapping) {
         if (Collection.class.isAssignableFrom(method.getReturnType())) {
             mappingCollection(builder, method, diffMapping);
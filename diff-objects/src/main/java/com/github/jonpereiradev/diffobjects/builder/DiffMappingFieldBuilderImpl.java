@@ -3,10 +3,12 @@ package com.github.jonpereiradev.diffobjects.builder;
 
 import com.github.jonpereiradev.diffobjects.DiffConfig;
 import com.github.jonpereiradev.diffobjects.DiffConfigImpl;
+import com.github.jonpereiradev.diffobjects.DiffException;
 import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
 import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
 import com.github.jonpereiradev.diffobjects.comparator.IndexComparator;
 import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+import com.github.jonpereiradev.diffobjects.strategy.DiffStrategy;
 import com.github.jonpereiradev.diffobjects.strategy.DiffStrategyType;
 
 import java.lang.reflect.Method;
@@ -74,6 +76,32 @@ final class DiffMappingFieldBuilderImpl<T> implements DiffManualMappingBuilder<T
         return this;
     }
 
+    @Override
+    public DiffManualMappingBuilder<T> deep(String name) {
+        return deep(name, DiffStrategyType.DEEP.getStrategy());
+    }
+
+    @Override
+    public DiffManualMappingBuilder<T> deep(String name, int maxDepth, int maxNodes) {
+        return deep(name, DiffStrategyType.deep(maxDepth, maxNodes));
+    }
+
+    private DiffManualMappingBuilder<T> deep(String name, DiffStrategy strategy) {
+        Objects.requireNonNull(name, "Field name is required.");
+
+        if (name.contains(".")) {
+            throw new DiffException("The deep mapping " + name + " must be a property of the class.");
+        }
+
+        Method method = DiffReflections.discoverGetter(context.getOfType(), name);
+        DiffMetadata diffMetadata = new DiffMetadata("", method, strategy, new EqualsComparator<>());
+
+        diffMetadata.getProperties().put("field", name);
+        context.put(name, diffMetadata);
+
+        return this;
+    }
+
     @Override
     public DiffQueryBuilder<T> query() {
         return new DiffQueryBuilderImpl<>(context);
@@ -0,0 +1,392 @@
+package com.github.jonpereiradev.diffobjects.builder;
+
+
+import com.github.jonpereiradev.diffobjects.DiffException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+
+/**
+ * Common reflection operations used to execute the diff.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+public final class DiffReflections {
+
+    private static final String GET_METHOD_PREFIX = "get";
+
+    private static final MethodType FUNCTION_FACTORY_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType FUNCTION_APPLY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final LongAdder GETTER_HITS = new LongAdder();
+    private static final LongAdder GETTER_MISSES = new LongAdder();
+
+    private static final ClassValue<Map<String, Optional<Getter>>> GETTERS = new ClassValue<>() {
+
+        @Override
+        protected Map<String, Optional<Getter>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<Map<String, DiffAccessor>> ACCESSORS = new ClassValue<>() {
+
+        @Override
+        protected Map<String, DiffAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Discovers the public no-argument method to access a field value.
+     * <p>
+     * The result of the lookup, including a missing getter, is cached for each class and field name. The cache lives
+     * in a {@link ClassValue}, so it doesn't prevent the class loader of the class from being unloaded.
+     *
+     * @param diffClass the class that contains the getter method.
+     * @param fieldOrMethodName the name of the field to discover or the name of the getter method.
+     *
+     * @return the getter method to retrieve the value.
+     */
+    public static Method discoverGetter(Class<?> diffClass, String fieldOrMethodName) {
+        return getter(diffClass, fieldOrMethodName).method;
+    }
+
+    /**
+     * Discovers the accessor of the public no-argument method to access a field value.
+     * <p>
+     * The accessor is cached with the getter, so a lookup that hits the cache returns the accessor without searching the
+     * class or the accessors of the method.
+     *
+     * @param diffClass the class that contains the getter method.
+     * @param fieldOrMethodName the name of the field to discover or the name of the getter method.
+     *
+     * @return the accessor that reads the value of the getter.
+     *
+     * @since 1.4.0
+     */
+    public static DiffAccessor discoverAccessor(Class<?> diffClass, String fieldOrMethodName) {
+        return getter(diffClass, fieldOrMethodName).getAccessor();
+    }
+
+    private static Getter getter(Class<?> diffClass, String fieldOrMethodName) {
+        Map<String, Optional<Getter>> getters = GETTERS.get(diffClass);
+        Optional<Getter> getter = getters.get(fieldOrMethodName);
+
+        if (getter == null) {
+            GETTER_MISSES.increment();
+            getter = Optional.ofNullable(quietlyGetMethod(diffClass, getterName(fieldOrMethodName))).map(Getter::new);
+            getter = Objects.requireNonNullElse(getters.putIfAbsent(fieldOrMethodName, getter), getter);
+        } else {
+            GETTER_HITS.increment();
+        }
+
+        if (getter.isEmpty()) {
+            String possibleAccessMethodName = getterName(fieldOrMethodName);
+            throw new DiffException("Method " + possibleAccessMethodName + " not found or is not public and non-args in class " + diffClass.getName());
+        }
+
+        return getter.get();
+    }
+
+    /**
+     * Checks if the lookup of a getter, found or missing, is in the cache of a class.
+     */
+    static boolean isGetterCached(Class<?> diffClass, String fieldOrMethodName) {
+        return GETTERS.get(diffClass).containsKey(fieldOrMethodName);
+    }
+
+    /**
+     * Gets the number of getter lookups answered by the cache of {@link #discoverGetter(Class, String)}.
+     *
+     * @return the number of cache hits since the class was loaded.
+     */
+    public static long getGetterCacheHits() {
+        return GETTER_HITS.sum();
+    }
+
+    /**
+     * Gets the number of getter lookups that had to search the class in {@link #discoverGetter(Class, String)}.
+     *
+     * @return the number of cache misses since the class was loaded.
+     */
+    public static long getGetterCacheMisses() {
+        return GETTER_MISSES.sum();
+    }
+
+    private static String getterName(String fieldOrMethodName) {
+        if (fieldOrMethodName.startsWith(GET_METHOD_PREFIX)) {
+            return fieldOrMethodName;
+        }
+
+        return GET_METHOD_PREFIX + capitalize(fieldOrMethodName);
+    }
+
+    private static String capitalize(String fieldOrMethodName) {
+        char firstLetter = fieldOrMethodName.charAt(0);
+        return Character.toUpperCase(firstLetter) + fieldOrMethodName.substring(1);
+    }
+
+    private static Method quietlyGetMethod(Class<?> diffClass, String methodName) {
+        try {
+            return diffClass.getMethod(methodName);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the method on the object and returns the value.
+     *
+     * @param instance the object instance that contains the method.
+     * @param method the getter method to retrieve the value.
+     * @param <T> the type of the value returned by the method.
+     *
+     * @return the value returned by the getter method.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T invoke(Object instance, Method method) {
+        if (instance == null) {
+            return null;
+        }
+
+        try {
+            return (T) method.invoke(instance);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+            throw new DiffException("Method " + method.getName() + " must be public and no-args.");
+        }
+    }
+
+    /**
+     * Gets the value from the object using the accessor.
+     *
+     * @param instance the object instance that contains the getter.
+     * @param accessor the accessor that reads the value of the getter.
+     * @param <T> the type of the value returned by the accessor.
+     *
+     * @return the value returned by the accessor or {@code null} if the instance is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T invoke(Object instance, DiffAccessor accessor) {
+        if (instance == null) {
+            return null;
+        }
+
+        return (T) accessor.get(instance);
+    }
+
+    /**
+     * Gets the accessor that reads the value of the getter method.
+     * <p>
+     * The accessor is generated with {@link LambdaMetafactory}, so the getter can be inlined by the JIT like a direct
+     * call. When the class does not allow it, a {@link MethodHandle} is used instead, and reflection is the last option.
+     * The accessor is created once for each method and reused by every mapping.
+     *
+     * @param method the getter method to retrieve the value.
+     *
+     * @return the accessor for the getter method.
+     */
+    public static DiffAccessor getAccessor(Method method) {
+        Map<String, DiffAccessor> accessors = ACCESSORS.get(method.getDeclaringClass());
+        return accessors.computeIfAbsent(method.getName(), (name) -> newAccessor(method));
+    }
+
+    private static DiffAccessor newAccessor(Method method) {
+        MethodHandles.Lookup lookup = quietlyPrivateLookup(method.getDeclaringClass());
+        MethodHandle handle = null;
+
+        if (lookup != null) {
+            handle = quietlyUnreflect(lookup, method);
+        }
+
+        if (handle == null) {
+            lookup = null;
+            handle = quietlyUnreflect(MethodHandles.publicLookup(), method);
+        }
+
+        if (handle == null) {
+            return new ReflectionAccessor(method);
+        }
+
+        if (lookup != null) {
+            Function<Object, Object> function = quietlySpinFunction(lookup, handle, method);
+
+            if (function != null) {
+                return new FunctionAccessor(method.getName(), function);
+            }
+        }
+
+        return new MethodHandleAccessor(method.getName(), handle.asType(FUNCTION_APPLY_TYPE));
+    }
+
+    private static MethodHandles.Lookup quietlyPrivateLookup(Class<?> declaringClass) {
+        // classes from named modules, like the JDK, are only accessed through their public api
+        if (declaringClass.getModule().isNamed()) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle quietlyUnreflect(MethodHandles.Lookup lookup, Method method) {
+        try {
+            return lookup.unreflect(method);
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> quietlySpinFunction(MethodHandles.Lookup lookup, MethodHandle handle, Method method) {
+        MethodType instantiatedType = MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap();
+
+        CallSite callSite;
+
+        try {
+            callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "apply",
+                FUNCTION_FACTORY_TYPE,
+                FUNCTION_APPLY_TYPE,
+                handle,
+                instantiatedType
+            );
+        } catch (LambdaConversionException e) {
+            // the getter is still called through its method handle
+            return null;
+        }
+
+        try {
+            return (Function<Object, Object>) callSite.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DiffException("The accessor of method " + method.getName() + " can't be created.", e);
+        }
+    }
+
+    /**
+     * Creates an instance of the specified class.
+     *
+     * @param clazz the class type used to create an instance.
+     * @param <T> the type of the object to be returned by the class.
+     *
+     * @return the created object.
+     *
+     * @throws UnsupportedOperationException if the class does not have a default constructor.
+     */
+    public static <T> T newInstance(Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
+                 InvocationTargetException e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    /**
+     * Accessor that calls the getter through a function generated by the {@link LambdaMetafactory}.
+     */
+    private static final class FunctionAccessor implements DiffAccessor {
+
+        private final String name;
+        private final Function<Object, Object> function;
+
+        private FunctionAccessor(String name, Function<Object, Object> function) {
+            this.name = name;
+            this.function = function;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            try {
+                return function.apply(instance);
+            } catch (Exception e) {
+                throw new DiffException("Method " + name + " failed to return the value.", e);
+            }
+        }
+    }
+
+    /**
+     * Accessor that calls the getter through a {@link MethodHandle} when the lambda can't be generated.
+     */
+    private static final class MethodHandleAccessor implements DiffAccessor {
+
+        private final String name;
+        private final MethodHandle handle;
+
+        private MethodHandleAccessor(String name, MethodHandle handle) {
+            this.name = name;
+            this.handle = handle;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            try {
+                return handle.invokeExact(instance);
+            } catch (Throwable e) {
+                throw new DiffException("Method " + name + " failed to return the value.", e);
+            }
+        }
+    }
+
+    /**
+     * Accessor that calls the getter through reflection when the class can't be accessed by method handles.
+     */
+    private static final class ReflectionAccessor implements DiffAccessor {
+
+        private final Method method;
+
+        private ReflectionAccessor(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object get(Object instance) {
+            return DiffReflections.invoke(instance, method);
+        }
+    }
+
+    /**
+     * Getter found by the lookup of a field, with the accessor created on the first use.
+     */
+    private static final class Getter {
+
+        private final Method method;
+        private volatile DiffAccessor accessor;
+
+        private Getter(Method method) {
+            this.method = method;
+        }
+
+        private DiffAccessor getAccessor() {
+            DiffAccessor accessor = this.accessor;
+
+            if (accessor == null) {
+                accessor = DiffReflections.getAccessor(method);
+                this.accessor = accessor;
+            }
+
+            return accessor;
+        }
+    }
+
+}
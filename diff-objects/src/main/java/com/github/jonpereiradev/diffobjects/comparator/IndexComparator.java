@@ -1,7 +1,11 @@
 package com.github.jonpereiradev.diffobjects.comparator;
 
+import java.util.Objects;
+
 /**
- * Check two objects for equality using the equals method implementation.
+ * Compares the elements of two collections by position, checking each pair using the equals method implementation.
+ * <p>
+ * It is the default comparator of collection fields mapped without a comparator.
  *
  * @author Jonathan Pereira
  * @since 1.1.0
@@ -18,7 +22,7 @@ public class IndexComparator<T> implements DiffComparator<T> {
      */
     @Override
     public boolean isEquals(T expected, T current) {
-        throw new UnsupportedOperationException();
+        return Objects.equals(expected, current);
     }
 
 }
@@ -0,0 +1,42 @@
+package com.github.jonpereiradev.diffobjects.comparator;
+
+import java.util.Objects;
+
+/**
+ * Compares the elements of a collection regardless of their order.
+ * <p>
+ * When a collection is mapped with this comparator, the collections are compared as bags: they are equal if each
+ * element occurs the same number of times in both collections. The elements are counted in a hash multiset, so the
+ * comparison runs in linear time. Subclasses that override {@link #isEquals(Object, Object)} must override
+ * {@link #hash(Object)} consistently.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+public class UnorderedComparator<T> implements DiffComparator<T> {
+
+    /**
+     * Checks the equality of two elements using their {@code equals} method implementation.
+     *
+     * @param expected the element with the expected state.
+     * @param current the element with the current state.
+     *
+     * @return {@code true} if the two elements are equal, {@code false} otherwise.
+     */
+    @Override
+    public boolean isEquals(T expected, T current) {
+        return Objects.equals(expected, current);
+    }
+
+    /**
+     * Gets the hash code of an element, consistent with {@link #isEquals(Object, Object)}.
+     *
+     * @param value the element to hash.
+     *
+     * @return the hash code of the element.
+     */
+    public int hash(T value) {
+        return Objects.hashCode(value);
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.builder.DiffReflections;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Responsible for checking the difference between two collections.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+final class DiffCollectionStrategy implements DiffStrategy {
+
+    /**
+     * Checks the difference between two objects based on the diffMetadata configuration.
+     *
+     * @param expected the object that is considered the state before the {@code current} object
+     * @param current the object that is considered the updated state after the {@code expected} object
+     * @param metadata the diffMetadata used to map and create the instance
+     *
+     * @return the result of comparing the two objects
+     */
+    @Override
+    public DiffResult diff(Object expected, Object current, DiffMetadata metadata) {
+        Collection<?> beforeCollection = DiffReflections.invoke(expected, metadata.getAccessor());
+        Collection<?> afterCollection = DiffReflections.invoke(current, metadata.getAccessor());
+
+        return DiffCollections.diff(
+            beforeCollection,
+            afterCollection,
+            elementValue(metadata),
+            metadata.getComparator(),
+            metadata.getProperties()
+        );
+    }
+
+    /**
+     * Compares the collections of two objects once, sending the result only when they are different.
+     *
+     * @param expected the object that is considered the state before the {@code current} object
+     * @param current the object that is considered the updated state after the {@code expected} object
+     * @param metadata the diffMetadata used to map and create the instance
+     * @param changes receives the result when the collections are different
+     *
+     * @return {@code false} if the predicate stopped the diff, {@code true} otherwise
+     */
+    @Override
+    public boolean diffChanges(Object expected, Object current, DiffMetadata metadata, Predicate<DiffResult> changes) {
+        Collection<?> beforeCollection = DiffReflections.invoke(expected, metadata.getAccessor());
+        Collection<?> afterCollection = DiffReflections.invoke(current, metadata.getAccessor());
+
+        return DiffCollections.diffChanges(
+            beforeCollection,
+            afterCollection,
+            elementValue(metadata),
+            metadata.getComparator(),
+            metadata.getProperties(),
+            changes
+        );
+    }
+
+    /**
+     * Checks if the collections of two objects are equal based on the diffMetadata configuration.
+     *
+     * @param expected the object that is considered the state before the {@code current} object
+     * @param current the object that is considered the updated state after the {@code expected} object
+     * @param metadata the diffMetadata used to map and create the instance
+     *
+     * @return {@code true} if the collections are equal, {@code false} otherwise
+     */
+    @Override
+    public boolean isEquals(Object expected, Object current, DiffMetadata metadata) {
+        Collection<?> beforeCollection = DiffReflections.invoke(expected, metadata.getAccessor());
+        Collection<?> afterCollection = DiffReflections.invoke(current, metadata.getAccessor());
+
+        return DiffCollections.isEquals(beforeCollection, afterCollection, elementValue(metadata), metadata.getComparator());
+    }
+
+    /**
+     * Gets the hash of the collection of an object based on the diffMetadata configuration.
+     *
+     * @param object the object that owns the collection
+     * @param metadata the diffMetadata used to map and create the instance
+     *
+     * @return the 64-bit hash of the collection, independent of the order for unordered collections
+     */
+    @Override
+    public long hash(Object object, DiffMetadata metadata) {
+        Collection<?> collection = DiffReflections.invoke(object, metadata.getAccessor());
+        return DiffCollections.hash(collection, elementValue(metadata), metadata.getComparator());
+    }
+
+    /**
+     * Captures the compared values of the elements of a collection based on the diffMetadata configuration.
+     * <p>
+     * The values are copied into an unmodifiable list, so elements added or removed from the collection later don't
+     * change the snapshot.
+     *
+     * @param object the object that owns the collection
+     * @param metadata the diffMetadata used to map and create the instance
+     *
+     * @return the list with the compared value of each element or {@code null} if the collection is empty
+     */
+    @Override
+    public Object snapshot(Object object, DiffMetadata metadata) {
+        Collection<?> collection = DiffReflections.invoke(object, metadata.getAccessor());
+        return DiffCollections.snapshot(collection, elementValue(metadata));
+    }
+
+    /**
+     * Checks the difference between the captured values of a collection and the collection of an object.
+     *
+     * @param snapshot the captured values that are considered the state before the {@code current} object
+     * @param current the object that is considered the updated state after the snapshot
+     * @param metadata the diffMetadata used to map and create the instance
+     *
+     * @return the result of comparing the captured values with the values of the collection
+     */
+    @Override
+    public DiffResult diffSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        return DiffCollections.diff(
+            (Collection<?>) snapshot,
+            (Collection<?>) snapshot(current, metadata),
+            null,
+            metadata.getComparator(),
+            metadata.getProperties()
+        );
+    }
+
+    /**
+     * Checks if the captured values of a collection are equal to the collection of an object.
+     *
+     * @param snapshot the captured values that are considered the state before the {@code current} object
+     * @param current the object that is considered the updated state after the snapshot
+     * @param metadata the diffMetadata used to map and create the instance
+     *
+     * @return {@code true} if the values are equal, {@code false} otherwise
+     */
+    @Override
+    public boolean isEqualsSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        Collection<?> collection = DiffReflections.invoke(current, metadata.getAccessor());
+        Collection<?> values = (Collection<?>) snapshot;
+        return DiffCollections.isEqualsSnapshot(values, collection, elementValue(metadata), metadata.getComparator());
+    }
+
+    /**
+     * Gets the function that reads the value of each element mapped by the metadata value.
+     * <p>
+     * The property path is compiled once with the metadata and caches the getters by element class, so the elements
+     * share the resolved getters across elements and diffs.
+     *
+     * @param metadata the metadata with the property path of the elements
+     *
+     * @return the function to read the element value or {@code null} if the elements are compared directly
+     */
+    private Function<Object, Object> elementValue(DiffMetadata metadata) {
+        DiffPropertyPath path = metadata.getPath();
+        return path.isEmpty() ? null : path;
+    }
+}
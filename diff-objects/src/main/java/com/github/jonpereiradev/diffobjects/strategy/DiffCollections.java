@@ -0,0 +1,374 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.comparator.UnorderedComparator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Compares two collections with the same rules used by the collection strategy.
+ * <p>
+ * The elements are compared by position, with indexed access for {@link RandomAccess} lists and iterators in
+ * lock-step otherwise. Collections mapped with an {@link UnorderedComparator} are compared regardless of order.
+ * <p>
+ * It is public so differs generated at compile time can compare collection fields without reflection.
+ *
+ * @author Jonathan Pereira
+ * @see DiffCollectionStrategy
+ * @since 1.4.0
+ */
+public final class DiffCollections {
+
+    private DiffCollections() {
+    }
+
+    /**
+     * Checks the difference between two collections.
+     *
+     * @param expected the collection that represents the expected state.
+     * @param current the collection that represents the current state.
+     * @param elementValue the function that reads the compared value of each element, or {@code null} to compare the elements.
+     * @param comparator the comparator used to check the equality of the compared values.
+     * @param properties the properties of the mapped field.
+     *
+     * @return the result of comparing the two collections.
+     */
+    public static DiffResult diff(
+        Collection<?> expected,
+        Collection<?> current,
+        Function<Object, Object> elementValue,
+        DiffComparator<?> comparator,
+        Map<String, String> properties) {
+
+        Collection<?> expectedCollection = initializeCollection(expected);
+        Collection<?> currentCollection = initializeCollection(current);
+        boolean equals = isEqualsCollection(expectedCollection, currentCollection, elementValue, elementValue, comparator);
+
+        return DiffResult.forValue(expectedCollection, currentCollection, equals, properties);
+    }
+
+    /**
+     * Compares two collections once, sending the result to the predicate only when they are different.
+     *
+     * @param expected the collection that represents the expected state.
+     * @param current the collection that represents the current state.
+     * @param elementValue the function that reads the compared value of each element, or {@code null} to compare the elements.
+     * @param comparator the comparator used to check the equality of the compared values.
+     * @param properties the properties of the mapped field.
+     * @param changes receives the result when the collections are different, returning {@code false} to stop the diff.
+     *
+     * @return {@code false} if the predicate stopped the diff, {@code true} otherwise.
+     */
+    public static boolean diffChanges(
+        Collection<?> expected,
+        Collection<?> current,
+        Function<Object, Object> elementValue,
+        DiffComparator<?> comparator,
+        Map<String, String> properties,
+        Predicate<DiffResult> changes) {
+
+        Collection<?> expectedCollection = initializeCollection(expected);
+        Collection<?> currentCollection = initializeCollection(current);
+
+        if (isEqualsCollection(expectedCollection, currentCollection, elementValue, elementValue, comparator)) {
+            return true;
+        }
+
+        return changes.test(DiffResult.forValue(expectedCollection, currentCollection, false, properties));
+    }
+
+    /**
+     * Checks if two collections are equal.
+     *
+     * @param expected the collection that represents the expected state.
+     * @param current the collection that represents the current state.
+     * @param elementValue the function that reads the compared value of each element, or {@code null} to compare the elements.
+     * @param comparator the comparator used to check the equality of the compared values.
+     *
+     * @return {@code true} if the collections are equal, {@code false} otherwise.
+     */
+    public static boolean isEquals(
+        Collection<?> expected,
+        Collection<?> current,
+        Function<Object, Object> elementValue,
+        DiffComparator<?> comparator) {
+
+        return isEqualsCollection(
+            initializeCollection(expected), initializeCollection(current), elementValue, elementValue, comparator);
+    }
+
+    /**
+     * Checks if the values copied by {@link #snapshot(Collection, Function)} are equal to the values of the current
+     * collection, reading the compared values of the current elements without copying them.
+     *
+     * @param snapshot the values copied from the collection that represents the expected state.
+     * @param current the collection that represents the current state.
+     * @param elementValue the function that reads the compared value of each element, or {@code null} to compare the elements.
+     * @param comparator the comparator used to check the equality of the compared values.
+     *
+     * @return {@code true} if the values are equal, {@code false} otherwise.
+     */
+    public static boolean isEqualsSnapshot(
+        Collection<?> snapshot,
+        Collection<?> current,
+        Function<Object, Object> elementValue,
+        DiffComparator<?> comparator) {
+
+        return isEqualsCollection(
+            initializeCollection(snapshot), initializeCollection(current), null, elementValue, comparator);
+    }
+
+    /**
+     * Gets the hash of a collection, consistent with {@link #isEquals(Collection, Collection, Function, DiffComparator)}.
+     * <p>
+     * Collections mapped with an {@link UnorderedComparator} are hashed regardless of order, using the hash of the
+     * comparator when a subclass overrides it. The other collections combine the hashes of the values in order.
+     *
+     * @param collection the collection to hash.
+     * @param elementValue the function that reads the compared value of each element, or {@code null} to hash the elements.
+     * @param comparator the comparator used to check the equality of the compared values.
+     *
+     * @return the 64-bit hash of the collection.
+     */
+    @SuppressWarnings("unchecked")
+    public static long hash(Collection<?> collection, Function<Object, Object> elementValue, DiffComparator<?> comparator) {
+        Collection<?> hashedCollection = initializeCollection(collection);
+
+        if (hashedCollection == null) {
+            return DiffHashes.hash(null);
+        }
+
+        long hash = hashedCollection.size();
+
+        if (comparator instanceof UnorderedComparator) {
+            UnorderedComparator<Object> unorderedComparator = (UnorderedComparator<Object>) comparator;
+            boolean equalsHash = comparator.getClass() == UnorderedComparator.class;
+
+            for (Object element : hashedCollection) {
+                Object value = elementValue == null ? element : elementValue.apply(element);
+                // the sum doesn't depend on the order of the elements
+                hash += DiffHashes.mix(equalsHash ? DiffHashes.hash(value) : unorderedComparator.hash(value));
+            }
+
+            return DiffHashes.mix(hash);
+        }
+
+        for (Object element : hashedCollection) {
+            Object value = elementValue == null ? element : elementValue.apply(element);
+            hash = DiffHashes.combine(hash, DiffHashes.hash(value));
+        }
+
+        return hash;
+    }
+
+    /**
+     * Copies the compared values of the elements of a collection, to be compared later as a collection of values.
+     *
+     * @param collection the collection to copy.
+     * @param elementValue the function that reads the compared value of each element, or {@code null} to copy the elements.
+     *
+     * @return the unmodifiable list of values, or {@code null} if the collection is empty.
+     */
+    public static List<Object> snapshot(Collection<?> collection, Function<Object, Object> elementValue) {
+        Collection<?> capturedCollection = initializeCollection(collection);
+
+        if (capturedCollection == null) {
+            return null;
+        }
+
+        List<Object> values = new ArrayList<>(capturedCollection.size());
+
+        for (Object element : capturedCollection) {
+            values.add(elementValue == null ? element : elementValue.apply(element));
+        }
+
+        return Collections.unmodifiableList(values);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean isEqualsCollection(
+        Collection<?> beforeCollection,
+        Collection<?> afterCollection,
+        Function<Object, Object> beforeValue,
+        Function<Object, Object> afterValue,
+        DiffComparator fieldComparator) {
+
+        if (beforeCollection == null && afterCollection == null) {
+            return true;
+        }
+
+        // if it has not the same size, so they are different
+        if (!isEqualsSize(beforeCollection, afterCollection)) {
+            return false;
+        }
+
+        if (fieldComparator instanceof UnorderedComparator) {
+            UnorderedComparator comparator = (UnorderedComparator) fieldComparator;
+            return isEqualsUnordered(beforeCollection, afterCollection, beforeValue, afterValue, comparator);
+        }
+
+        if (beforeCollection instanceof RandomAccess && afterCollection instanceof RandomAccess
+            && beforeCollection instanceof List && afterCollection instanceof List) {
+            List<?> beforeList = (List<?>) beforeCollection;
+            return isEqualsIndexed(beforeList, (List<?>) afterCollection, beforeValue, afterValue, fieldComparator);
+        }
+
+        Iterator<?> iterator = afterCollection.iterator();
+
+        for (Object currentBefore : beforeCollection) {
+            if (!isEqualsElement(currentBefore, iterator.next(), beforeValue, afterValue, fieldComparator)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Compares the lists by position with indexed access, without creating iterators.
+     */
+    private static boolean isEqualsIndexed(
+        List<?> beforeList,
+        List<?> afterList,
+        Function<Object, Object> beforeValue,
+        Function<Object, Object> afterValue,
+        DiffComparator<Object> fieldComparator) {
+
+        for (int i = 0, size = beforeList.size(); i < size; i++) {
+            if (!isEqualsElement(beforeList.get(i), afterList.get(i), beforeValue, afterValue, fieldComparator)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isEqualsElement(
+        Object currentBefore,
+        Object currentAfter,
+        Function<Object, Object> beforeValue,
+        Function<Object, Object> afterValue,
+        DiffComparator<Object> fieldComparator) {
+
+        // check the elements that exist on beforeState and not exists on afterState
+        if (currentAfter == null) {
+            return false;
+        }
+
+        return fieldComparator.isEquals(value(currentBefore, beforeValue), value(currentAfter, afterValue));
+    }
+
+    /**
+     * Compares the collections as bags, counting the elements of one collection in a hash multiset and discounting
+     * the elements of the other one.
+     */
+    private static boolean isEqualsUnordered(
+        Collection<?> beforeCollection,
+        Collection<?> afterCollection,
+        Function<Object, Object> beforeValue,
+        Function<Object, Object> afterValue,
+        UnorderedComparator<Object> comparator) {
+
+        // the default comparator matches the equals and hashCode of the values, so they can be the keys themselves
+        boolean wrap = comparator.getClass() != UnorderedComparator.class;
+        Map<Object, int[]> counts = new HashMap<>((int) (beforeCollection.size() / 0.75f) + 1);
+
+        for (Object before : beforeCollection) {
+            Object key = unorderedKey(value(before, beforeValue), comparator, wrap);
+            int[] count = counts.get(key);
+
+            if (count == null) {
+                counts.put(key, new int[]{1});
+            } else {
+                count[0]++;
+            }
+        }
+
+        for (Object after : afterCollection) {
+            int[] count = counts.get(unorderedKey(value(after, afterValue), comparator, wrap));
+
+            if (count == null || count[0] == 0) {
+                return false;
+            }
+
+            count[0]--;
+        }
+
+        // the collections have the same size, so every count is zero when all elements were discounted
+        return true;
+    }
+
+    private static Object unorderedKey(Object value, UnorderedComparator<Object> comparator, boolean wrap) {
+        return wrap ? new UnorderedKey(value, comparator) : value;
+    }
+
+    private static Object value(Object element, Function<Object, Object> elementValue) {
+        return elementValue == null ? element : elementValue.apply(element);
+    }
+
+    /**
+     * Empty collections are handled as {@code null} values.
+     *
+     * @param collection the collection value from the object
+     *
+     * @return the collection or {@code null} if it is empty
+     */
+    private static Collection<?> initializeCollection(Collection<?> collection) {
+        if (collection != null && collection.isEmpty()) {
+            return null;
+        }
+
+        return collection;
+    }
+
+    /**
+     * Validates if the collections have the same size.
+     *
+     * @param beforeCollection the collection from the before object
+     * @param afterCollection the collection from the after object
+     *
+     * @return {@code false} if the collections do not have the same size
+     */
+    private static boolean isEqualsSize(Collection<?> beforeCollection, Collection<?> afterCollection) {
+        return beforeCollection != null && afterCollection != null && beforeCollection.size() == afterCollection.size();
+    }
+
+    /**
+     * Multiset key that uses the equality and hash of an unordered comparator.
+     */
+    private static final class UnorderedKey {
+
+        private final Object value;
+        private final UnorderedComparator<Object> comparator;
+        private final int hash;
+
+        private UnorderedKey(Object value, UnorderedComparator<Object> comparator) {
+            this.value = value;
+            this.comparator = comparator;
+            this.hash = comparator.hash(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof UnorderedKey && comparator.isEquals(value, ((UnorderedKey) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,530 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffException;
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.builder.DiffAccessor;
+import com.github.jonpereiradev.diffobjects.builder.DiffReflections;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+
+/**
+ * Responsible for checking the difference between two object graphs, walking the properties of the objects
+ * recursively.
+ * <p>
+ * The properties of each class are resolved once, like {@link DiffStrategyType#SINGLE} fields mapped from all fields
+ * of the class, and cached with their accessors. The walk stops at values of the JDK, enums, arrays, collections,
+ * maps, classes without properties, {@code null} values and values of different classes, which are compared with the
+ * comparator of the mapping. Each pair of objects is visited once, so cyclic graphs end.
+ * <p>
+ * The structural hash of a graph combines the hashes of its properties like a Merkle tree. The hashes of classes
+ * annotated with {@link com.github.jonpereiradev.diffobjects.annotation.DiffImmutable} are cached by instance, and
+ * equality checks compared with {@code equals} skip the subtrees of immutable objects with the same hash when all of
+ * the leaves of both subtrees have content hashes, see {@link DiffHashes#isContentHash(Object)}.
+ *
+ * @author Jonathan Pereira
+ * @see DiffStrategyType#DEEP
+ * @since 1.4.0
+ */
+final class DiffDeepStrategy implements DiffStrategy {
+
+    static final int DEFAULT_MAX_DEPTH = 32;
+    static final int DEFAULT_MAX_NODES = 10_000;
+
+    private static final String PROPERTY_SEPARATOR = ".";
+    private static final String FIELD_PROPERTY = "field";
+    private static final long OPAQUE_HASH = 0x3C6EF372FE94F82BL;
+
+    private static final ClassValue<DiffDeepProperty[]> PROPERTIES = new ClassValue<>() {
+
+        @Override
+        protected DiffDeepProperty[] computeValue(Class<?> type) {
+            return discoverProperties(type);
+        }
+    };
+
+    private final int maxDepth;
+    private final int maxNodes;
+    private final DiffHashCache hashes = new DiffHashCache();
+
+    DiffDeepStrategy(int maxDepth, int maxNodes) {
+        if (maxDepth < 1 || maxNodes < 1) {
+            throw new DiffException("The max depth and max nodes of a deep diff must be positive.");
+        }
+
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Checks the difference between two object graphs, aggregated in a single result.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the result with the values of the mapped property, equal if no property of the graph is different.
+     */
+    @Override
+    public DiffResult diff(Object expected, Object current, DiffMetadata metadata) {
+        Object expectedValue = DiffReflections.invoke(expected, metadata.getAccessor());
+        Object currentValue = DiffReflections.invoke(current, metadata.getAccessor());
+        boolean equals = new DiffDeepWalk(metadata, null, false).walk(field(metadata), expectedValue, currentValue, 0);
+
+        return DiffResult.forValue(expectedValue, currentValue, equals, metadata.getProperties());
+    }
+
+    /**
+     * Checks the difference between two object graphs, with a result for each compared property of the graph.
+     * <p>
+     * The field of each result is the path of the property from the mapped property, like
+     * {@code customer.address.zip}.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param results receives the results of the properties.
+     */
+    @Override
+    public void diff(Object expected, Object current, DiffMetadata metadata, Consumer<DiffResult> results) {
+        Object expectedValue = DiffReflections.invoke(expected, metadata.getAccessor());
+        Object currentValue = DiffReflections.invoke(current, metadata.getAccessor());
+
+        new DiffDeepWalk(metadata, all(results), false).walk(field(metadata), expectedValue, currentValue, 0);
+    }
+
+    /**
+     * Checks the difference between two object graphs, with a result for each property with differences, stopping
+     * the walk when the predicate returns {@code false}.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param changes receives the results of the properties with differences.
+     *
+     * @return {@code false} if the predicate stopped the diff, {@code true} otherwise.
+     */
+    @Override
+    public boolean diffChanges(Object expected, Object current, DiffMetadata metadata, Predicate<DiffResult> changes) {
+        Object expectedValue = DiffReflections.invoke(expected, metadata.getAccessor());
+        Object currentValue = DiffReflections.invoke(current, metadata.getAccessor());
+        DiffDeepWalk walk = new DiffDeepWalk(metadata, changes, true);
+
+        walk.walk(field(metadata), expectedValue, currentValue, 0);
+        return !walk.stopped;
+    }
+
+    private static Predicate<DiffResult> all(Consumer<DiffResult> results) {
+        return result -> {
+            results.accept(result);
+            return true;
+        };
+    }
+
+    /**
+     * Checks if two object graphs are equal, stopping on the first difference.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if no property of the graph is different, {@code false} otherwise.
+     */
+    @Override
+    public boolean isEquals(Object expected, Object current, DiffMetadata metadata) {
+        Object expectedValue = DiffReflections.invoke(expected, metadata.getAccessor());
+        Object currentValue = DiffReflections.invoke(current, metadata.getAccessor());
+
+        return new DiffDeepWalk(metadata, null, false).walk(field(metadata), expectedValue, currentValue, 0);
+    }
+
+    /**
+     * Gets the structural hash of the object graph of the mapped property.
+     *
+     * @param object the object to hash.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the 64-bit hash of the graph.
+     */
+    @Override
+    public long hash(Object object, DiffMetadata metadata) {
+        return hash(DiffReflections.invoke(object, metadata.getAccessor()));
+    }
+
+    /**
+     * Captures the leaves of the object graph of the mapped property by their path, without copying the graph.
+     *
+     * @param object the object to capture.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the unmodifiable map with the value of each leaf by its path, in the order of the walk.
+     */
+    @Override
+    public Object snapshot(Object object, DiffMetadata metadata) {
+        Object value = DiffReflections.invoke(object, metadata.getAccessor());
+        Map<String, Object> leaves = new LinkedHashMap<>();
+
+        new DiffDeepWalk(metadata, all(result -> leaves.put(result.getField(), DiffSnapshots.copy(result.getExpected()))), false)
+            .walk(field(metadata), value, value, 0);
+        return Collections.unmodifiableMap(leaves);
+    }
+
+    /**
+     * Checks the difference between the captured leaves of a graph and the graph of an object, aggregated in a single
+     * result.
+     *
+     * @param snapshot the captured leaves representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the result with the leaves of the graphs, equal if no leaf is different.
+     */
+    @Override
+    public DiffResult diffSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        Object currentLeaves = snapshot(current, metadata);
+        boolean equals = isEqualsLeaves(snapshot, currentLeaves, metadata);
+
+        return DiffResult.forValue(snapshot, currentLeaves, equals, metadata.getProperties());
+    }
+
+    /**
+     * Checks the difference between the captured leaves of a graph and the graph of an object, with a result for each
+     * leaf of any of the graphs.
+     *
+     * @param snapshot the captured leaves representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param results receives the results of the leaves.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void diffSnapshot(Object snapshot, Object current, DiffMetadata metadata, Consumer<DiffResult> results) {
+        Map<String, Object> expectedLeaves = (Map<String, Object>) snapshot;
+        Map<String, Object> currentLeaves = new LinkedHashMap<>((Map<String, Object>) snapshot(current, metadata));
+        DiffComparator comparator = metadata.getComparator();
+
+        for (Map.Entry<String, Object> leaf : expectedLeaves.entrySet()) {
+            Object currentValue = currentLeaves.remove(leaf.getKey());
+            boolean equals = comparator.isEquals(leaf.getValue(), currentValue);
+
+            results.accept(leafResult(metadata, leaf.getKey(), leaf.getValue(), currentValue, equals));
+        }
+
+        // the leaves that only exist in the current graph
+        for (Map.Entry<String, Object> leaf : currentLeaves.entrySet()) {
+            boolean equals = comparator.isEquals(null, leaf.getValue());
+            results.accept(leafResult(metadata, leaf.getKey(), null, leaf.getValue(), equals));
+        }
+    }
+
+    /**
+     * Checks if the captured leaves of a graph are equal to the leaves of the graph of an object.
+     *
+     * @param snapshot the captured leaves representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if no leaf is different, {@code false} otherwise.
+     */
+    @Override
+    public boolean isEqualsSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        return isEqualsLeaves(snapshot, snapshot(current, metadata), metadata);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean isEqualsLeaves(Object expected, Object current, DiffMetadata metadata) {
+        Map<String, Object> expectedLeaves = (Map<String, Object>) expected;
+        Map<String, Object> currentLeaves = (Map<String, Object>) current;
+        DiffComparator comparator = metadata.getComparator();
+
+        if (!expectedLeaves.keySet().equals(currentLeaves.keySet())) {
+            return false;
+        }
+
+        for (Map.Entry<String, Object> leaf : expectedLeaves.entrySet()) {
+            if (!comparator.isEquals(leaf.getValue(), currentLeaves.get(leaf.getKey()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static DiffResult leafResult(DiffMetadata metadata, String path, Object expected, Object current, boolean equals) {
+        Map<String, String> properties = new HashMap<>(metadata.getProperties());
+        properties.put(FIELD_PROPERTY, path);
+        return DiffResult.forValue(expected, current, equals, properties);
+    }
+
+    /**
+     * Gets the hash of a graph, cached by instance when the root is immutable.
+     */
+    private long hash(Object value) {
+        if (value != null && DiffHashes.isImmutable(value.getClass())) {
+            long hash = contentHash(value);
+
+            if (hash != OPAQUE_HASH) {
+                return hash;
+            }
+        }
+
+        return new DiffDeepHash().hash(value, 0);
+    }
+
+    /**
+     * Gets the cached hash of an immutable graph, or {@link #OPAQUE_HASH} when a leaf of the graph has no content hash.
+     */
+    private long contentHash(Object value) {
+        return hashes.get(value, root -> {
+            DiffDeepHash hash = new DiffDeepHash();
+            long result = hash.hash(root, 0);
+
+            return hash.opaque ? OPAQUE_HASH : result;
+        });
+    }
+
+    private static String field(DiffMetadata metadata) {
+        return metadata.getProperties().getOrDefault(FIELD_PROPERTY, metadata.getMethod().getName());
+    }
+
+    /**
+     * Resolves the properties of a class from its fields and the fields of its superclasses with public getters.
+     */
+    private static DiffDeepProperty[] discoverProperties(Class<?> type) {
+        if (isValueType(type)) {
+            return new DiffDeepProperty[0];
+        }
+
+        Map<String, DiffDeepProperty> properties = new LinkedHashMap<>();
+
+        for (Class<?> ofType = type; ofType != null && !ofType.equals(Object.class); ofType = ofType.getSuperclass()) {
+            for (Field field : ofType.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || properties.containsKey(field.getName())) {
+                    continue;
+                }
+
+                Method method;
+
+                try {
+                    method = DiffReflections.discoverGetter(type, field.getName());
+                } catch (DiffException e) {
+                    // fields without getters are internal state of the class and are not compared
+                    continue;
+                }
+
+                properties.put(field.getName(), new DiffDeepProperty(field.getName(), DiffReflections.getAccessor(method)));
+            }
+        }
+
+        return properties.values().toArray(new DiffDeepProperty[0]);
+    }
+
+    private static boolean isValueType(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+
+        return type.isPrimitive()
+            || type.isArray()
+            || type.isEnum()
+            || Collection.class.isAssignableFrom(type)
+            || Map.class.isAssignableFrom(type)
+            || classLoader == null
+            || classLoader == ClassLoader.getPlatformClassLoader();
+    }
+
+    /**
+     * The state of a single walk through two object graphs.
+     */
+    private final class DiffDeepWalk {
+
+        private final DiffMetadata metadata;
+        private final Predicate<DiffResult> results;
+        private final boolean changes;
+        private final Set<DiffDeepVisit> visited = new HashSet<>();
+
+        private int nodes;
+        private boolean stopped;
+
+        private DiffDeepWalk(DiffMetadata metadata, Predicate<DiffResult> results, boolean changes) {
+            this.metadata = metadata;
+            this.results = results;
+            this.changes = changes;
+        }
+
+        /**
+         * Walks the values, sending the result of each compared property, or only of the properties with differences
+         * for a walk of changes, until the predicate of results returns {@code false}. Without a predicate of results,
+         * the walk stops on the first difference.
+         */
+        private boolean walk(String path, Object expected, Object current, int depth) {
+            if (expected == current && (results == null || changes)) {
+                return true;
+            }
+
+            DiffDeepProperty[] properties = isLeaf(expected, current, depth) ? null : PROPERTIES.get(expected.getClass());
+
+            if (properties == null || properties.length == 0) {
+                return compare(path, expected, current);
+            }
+
+            if (!visited.add(new DiffDeepVisit(expected, current))) {
+                return true;
+            }
+
+            if (++nodes > maxNodes) {
+                throw new DiffException("The object graph of " + field(metadata) + " has more than " + maxNodes + " nodes.");
+            }
+
+            if (isSkippable(expected) && isSameContent(expected, current)) {
+                // the subtrees of immutable objects with the same content hash are equal
+                return true;
+            }
+
+            boolean equals = true;
+
+            for (DiffDeepProperty property : properties) {
+                Object expectedValue = property.accessor.get(expected);
+                Object currentValue = property.accessor.get(current);
+
+                if (!walk(path + PROPERTY_SEPARATOR + property.name, expectedValue, currentValue, depth + 1)) {
+                    equals = false;
+
+                    if (results == null || stopped) {
+                        return false;
+                    }
+                }
+            }
+
+            return equals;
+        }
+
+        private boolean isLeaf(Object expected, Object current, int depth) {
+            return expected == null || current == null || expected.getClass() != current.getClass() || depth >= maxDepth;
+        }
+
+        /**
+         * The hashes are consistent with the leaves only when they are compared with {@code equals}.
+         */
+        private boolean isSkippable(Object expected) {
+            return (results == null || changes)
+                && metadata.getComparator().getClass() == EqualsComparator.class
+                && DiffHashes.isImmutable(expected.getClass());
+        }
+
+        private boolean isSameContent(Object expected, Object current) {
+            long hash = contentHash(expected);
+            return hash != OPAQUE_HASH && hash == contentHash(current);
+        }
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private boolean compare(String path, Object expected, Object current) {
+            DiffComparator comparator = metadata.getComparator();
+            boolean equals = comparator.isEquals(expected, current);
+
+            if (results != null && !(changes && equals) && !results.test(leafResult(metadata, path, expected, current, equals))) {
+                stopped = true;
+            }
+
+            return equals;
+        }
+    }
+
+    /**
+     * The state of a single structural hash of an object graph.
+     */
+    private final class DiffDeepHash {
+
+        private static final long CYCLE_HASH = 0x7A5E3C1B9D2F4E6BL;
+
+        private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private int nodes;
+        private boolean opaque;
+
+        /**
+         * Hashes the value, combining the name of its class with the hashes of its properties, or with
+         * {@link DiffHashes#hash(Object)} for the values compared as leaves.
+         */
+        private long hash(Object value, int depth) {
+            DiffDeepProperty[] properties = value == null || depth >= maxDepth ? null : PROPERTIES.get(value.getClass());
+
+            if (properties == null || properties.length == 0) {
+                opaque |= !DiffHashes.isContentHash(value);
+                return DiffHashes.hash(value);
+            }
+
+            // only the objects of the current path are cycles, shared objects are hashed like separate copies
+            if (!path.add(value)) {
+                return CYCLE_HASH;
+            }
+
+            if (++nodes > maxNodes) {
+                throw new DiffException("The object graph of " + value.getClass().getName() + " has more than " + maxNodes + " nodes.");
+            }
+
+            long hash = DiffHashes.hash(value.getClass().getName());
+
+            for (DiffDeepProperty property : properties) {
+                hash = DiffHashes.combine(hash, hash(property.accessor.get(value), depth + 1));
+            }
+
+            path.remove(value);
+            return hash;
+        }
+    }
+
+    private static final class DiffDeepProperty {
+
+        private final String name;
+        private final DiffAccessor accessor;
+
+        private DiffDeepProperty(String name, DiffAccessor accessor) {
+            this.name = name;
+            this.accessor = accessor;
+        }
+    }
+
+    /**
+     * A pair of objects compared by the walk, identified by the identity of the objects.
+     */
+    private static final class DiffDeepVisit {
+
+        private final Object expected;
+        private final Object current;
+
+        private DiffDeepVisit(Object expected, Object current) {
+            this.expected = expected;
+            this.current = current;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DiffDeepVisit)) {
+                return false;
+            }
+
+            DiffDeepVisit that = (DiffDeepVisit) o;
+            return expected == that.expected && current == that.current;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(expected) + System.identityHashCode(current);
+        }
+    }
+
+}
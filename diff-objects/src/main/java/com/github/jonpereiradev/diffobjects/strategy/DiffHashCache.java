@@ -0,0 +1,136 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Caches the hashes of immutable objects by instance.
+ * <p>
+ * The instances are compared by identity and weakly referenced, so the cache doesn't depend on the {@code equals} of
+ * the objects and doesn't prevent them from being collected. It is safe to use from many threads.
+ *
+ * @author Jonathan Pereira
+ * @see DiffHashes#isImmutable(Class)
+ * @since 1.4.0
+ */
+public final class DiffHashCache {
+
+    private final Map<DiffIdentityKey, Long> hashes = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * Gets the hash of the instance, computing and caching it when it is not cached.
+     *
+     * @param instance the immutable instance.
+     * @param hasher computes the hash of the instance.
+     *
+     * @return the hash of the instance.
+     */
+    public long get(Object instance, ToLongFunction<Object> hasher) {
+        expunge();
+
+        Long hash = hashes.get(new DiffLookupKey(instance));
+
+        if (hash == null) {
+            hash = hasher.applyAsLong(instance);
+            hashes.put(new DiffWeakKey(instance, collected), hash);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Gets the number of instances in the cache, including collected instances not removed yet.
+     *
+     * @return the number of cached hashes.
+     */
+    public int size() {
+        expunge();
+        return hashes.size();
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+
+        while ((reference = collected.poll()) != null) {
+            hashes.remove(reference);
+        }
+    }
+
+    /**
+     * A key compared by the identity of the instance.
+     */
+    private interface DiffIdentityKey {
+
+        Object instance();
+
+        static boolean equals(DiffIdentityKey key, Object o) {
+            if (key == o) {
+                return true;
+            }
+
+            if (!(o instanceof DiffIdentityKey)) {
+                return false;
+            }
+
+            Object instance = key.instance();
+            return instance != null && instance == ((DiffIdentityKey) o).instance();
+        }
+    }
+
+    private static final class DiffWeakKey extends WeakReference<Object> implements DiffIdentityKey {
+
+        private final int hashCode;
+
+        private DiffWeakKey(Object instance, ReferenceQueue<Object> queue) {
+            super(instance, queue);
+            this.hashCode = System.identityHashCode(instance);
+        }
+
+        @Override
+        public Object instance() {
+            return get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return DiffIdentityKey.equals(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class DiffLookupKey implements DiffIdentityKey {
+
+        private final Object instance;
+
+        private DiffLookupKey(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public Object instance() {
+            return instance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return DiffIdentityKey.equals(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(instance);
+        }
+    }
+
+}
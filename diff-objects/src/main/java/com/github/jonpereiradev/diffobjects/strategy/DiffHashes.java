@@ -0,0 +1,350 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffException;
+import com.github.jonpereiradev.diffobjects.annotation.DiffImmutable;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+
+/**
+ * Computes the 64-bit structural hashes of the mapped values.
+ * <p>
+ * The value hashes are consistent with {@code equals} and cover the whole content of the values of the JDK: strings
+ * are hashed over their characters, enums over their names, numbers over their bits, big numbers over their digits and
+ * scale, the values of {@code java.time} over their text and lists, sets, maps and arrays over the hashes of their
+ * elements. The other values, like the objects of the application, spread their {@code hashCode} to 64 bits, so they
+ * only have its 32 bits and collide as often as their {@code hashCode} does. Different hashes prove that the values are
+ * different, while equal hashes of values with content hashes only differ from equal values by a 64-bit collision.
+ * <p>
+ * It is public so the diff engine can combine the hashes of the strategies.
+ *
+ * @author Jonathan Pereira
+ * @see DiffStrategy#hash(Object, DiffMetadata)
+ * @since 1.4.0
+ */
+public final class DiffHashes {
+
+    private static final long NULL_HASH = 0x2545F4914F6CDD1DL;
+    private static final long TRUE_HASH = 0x5DEECE66DL;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static final ClassValue<Boolean> IMMUTABLE = new ClassValue<>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(DiffImmutable.class);
+        }
+    };
+
+    private static final ClassValue<Boolean> TIME_TYPES = new ClassValue<>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.getPackageName().equals("java.time");
+        }
+    };
+
+    private DiffHashes() {
+    }
+
+    /**
+     * Gets the hash of a value, consistent with its {@code equals}.
+     *
+     * @param value the value to hash.
+     *
+     * @return the 64-bit hash of the value.
+     */
+    public static long hash(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+
+        if (value instanceof String) {
+            return hash((String) value);
+        }
+
+        if (value instanceof Enum) {
+            // the hash code of an enum is its identity, so the name keeps the hash stable across runs
+            return combine(hash(value.getClass().getName()), hash(((Enum<?>) value).name()));
+        }
+
+        Class<?> type = value.getClass();
+
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+            return mix(((Number) value).longValue());
+        }
+
+        if (type == Double.class) {
+            return mix(Double.doubleToLongBits((Double) value));
+        }
+
+        if (type == Float.class) {
+            return mix(Float.floatToIntBits((Float) value));
+        }
+
+        if (type == Boolean.class) {
+            return mix((Boolean) value ? TRUE_HASH : ~TRUE_HASH);
+        }
+
+        if (type == Character.class) {
+            return mix((Character) value);
+        }
+
+        if (type == BigInteger.class) {
+            return hashDigits((BigInteger) value);
+        }
+
+        if (type == BigDecimal.class) {
+            // equals compares the scale, so 1.0 and 1.00 are different values
+            return combine(hashDigits(((BigDecimal) value).unscaledValue()), ((BigDecimal) value).scale());
+        }
+
+        if (type == UUID.class) {
+            return combine(((UUID) value).getMostSignificantBits(), ((UUID) value).getLeastSignificantBits());
+        }
+
+        if (type == Date.class) {
+            return mix(((Date) value).getTime());
+        }
+
+        if (TIME_TYPES.get(type)) {
+            // the text of the values of java.time has all of their fields
+            return combine(hash(type.getName()), hash(value.toString()));
+        }
+
+        if (value instanceof Set) {
+            return hashUnordered((Set<?>) value);
+        }
+
+        if (value instanceof Collection) {
+            long hash = ((Collection<?>) value).size();
+
+            for (Object element : (Collection<?>) value) {
+                hash = combine(hash, hash(element));
+            }
+
+            return hash;
+        }
+
+        if (value instanceof Map) {
+            long hash = ((Map<?, ?>) value).size();
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                // the sum doesn't depend on the order of the entries
+                hash += mix(combine(hash(entry.getKey()), hash(entry.getValue())));
+            }
+
+            return mix(hash);
+        }
+
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            long hash = length;
+
+            for (int i = 0; i < length; i++) {
+                hash = combine(hash, hash(Array.get(value, i)));
+            }
+
+            return hash;
+        }
+
+        return mix(value.hashCode());
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    private static long hashDigits(BigInteger value) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (byte digit : value.toByteArray()) {
+            hash = (hash ^ (digit & 0xFF)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    private static long hashUnordered(Collection<?> values) {
+        long hash = values.size();
+
+        for (Object element : values) {
+            // the sum doesn't depend on the order of the elements
+            hash += mix(hash(element));
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Checks if the hash of a value covers its whole content, so equal hashes are only a 64-bit collision away from
+     * equal values.
+     * <p>
+     * The values of the JDK hashed by {@link #hash(Object)} have content hashes, as long as the elements of their
+     * collections, maps and arrays have content hashes too. The other values are hashed with their {@code hashCode}.
+     *
+     * @param value the value to check.
+     *
+     * @return {@code true} if the hash of the value covers its content.
+     */
+    public static boolean isContentHash(Object value) {
+        if (value == null || value instanceof String || value instanceof Enum) {
+            return true;
+        }
+
+        Class<?> type = value.getClass();
+
+        if (type == Long.class
+            || type == Integer.class
+            || type == Short.class
+            || type == Byte.class
+            || type == Double.class
+            || type == Float.class
+            || type == Boolean.class
+            || type == Character.class
+            || type == BigInteger.class
+            || type == BigDecimal.class
+            || type == UUID.class
+            || type == Date.class
+            || TIME_TYPES.get(type)) {
+            return true;
+        }
+
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (!isContentHash(element)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isContentHash(entry.getKey()) || !isContentHash(entry.getValue())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        if (type.isArray()) {
+            if (type.getComponentType().isPrimitive()) {
+                return true;
+            }
+
+            for (Object element : (Object[]) value) {
+                if (!isContentHash(element)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the hash of a value that is the same across runs, to be persisted.
+     * <p>
+     * The values with content hashes, see {@link #isContentHash(Object)}, have hashes stable across runs. The other
+     * values, like the objects of the application, may hash their state with the identity hash of an enum or of an
+     * object, so they have no stable hash.
+     *
+     * @param value the value to hash.
+     *
+     * @return the 64-bit hash of the value.
+     *
+     * @throws DiffException if the value or any of its elements has no stable hash.
+     */
+    public static long stableHash(Object value) {
+        checkStable(value);
+        return hash(value);
+    }
+
+    /**
+     * Gets the hash of the elements of a collection that is the same across runs, regardless of their order.
+     *
+     * @param values the elements to hash.
+     *
+     * @return the 64-bit hash of the elements.
+     *
+     * @throws DiffException if any element has no stable hash.
+     * @see #stableHash(Object)
+     */
+    public static long stableHashUnordered(Collection<?> values) {
+        if (values == null) {
+            return hash(null);
+        }
+
+        checkStable(values);
+        return hashUnordered(values);
+    }
+
+    private static void checkStable(Object value) {
+        if (!isContentHash(value)) {
+            throw new DiffException(
+                "The value of type " + value.getClass().getName() + " has no hash stable across runs.");
+        }
+    }
+
+    /**
+     * Combines a hash with the hash of the next value, depending on the order of the values.
+     *
+     * @param hash the hash of the previous values.
+     * @param value the hash of the next value.
+     *
+     * @return the combined hash.
+     */
+    public static long combine(long hash, long value) {
+        return mix(hash * GOLDEN_RATIO + value);
+    }
+
+    /**
+     * Spreads the bits of a hash, using the finalizer of MurmurHash3.
+     *
+     * @param hash the hash to spread.
+     *
+     * @return the spread hash.
+     */
+    public static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    /**
+     * Checks if the class is annotated with {@link DiffImmutable}, so the hashes of its instances can be cached.
+     *
+     * @param type the class to check.
+     *
+     * @return {@code true} if the instances of the class never change.
+     */
+    public static boolean isImmutable(Class<?> type) {
+        return IMMUTABLE.get(type);
+    }
+
+}
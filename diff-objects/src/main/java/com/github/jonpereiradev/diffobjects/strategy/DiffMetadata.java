@@ -0,0 +1,158 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.annotation.DiffOrder;
+import com.github.jonpereiradev.diffobjects.builder.DiffAccessor;
+import com.github.jonpereiradev.diffobjects.builder.DiffReflections;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Metadata containing information about a field or method to be compared during the diff execution.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+public final class DiffMetadata implements Comparable<DiffMetadata> {
+
+    private static final DiffStrategy DEFAULT_STRATEGY = DiffStrategyType.SINGLE.getStrategy();
+
+    private final String value;
+    private final Method method;
+    private final DiffAccessor accessor;
+    private final DiffPropertyPath path;
+    private final DiffStrategy strategy;
+    private final DiffComparator<?> comparator;
+    private final Map<String, String> properties;
+
+    private final int order;
+
+    public DiffMetadata(
+        String value,
+        Method method,
+        DiffStrategyType diffStrategyType,
+        DiffComparator<?> comparator) {
+        this(value, method, diffStrategyType == null ? DEFAULT_STRATEGY : diffStrategyType.getStrategy(), comparator);
+    }
+
+    /**
+     * Creates the metadata with a strategy instance, like a {@link DiffStrategyType#deep(int, int)} strategy.
+     *
+     * @param value the property path navigated from the value of the method.
+     * @param method the getter method of the field.
+     * @param strategy the strategy that executes the diff.
+     * @param comparator the comparator of the values.
+     *
+     * @since 1.4.0
+     */
+    public DiffMetadata(String value, Method method, DiffStrategy strategy, DiffComparator<?> comparator) {
+        this.value = value == null ? "" : value.trim();
+        this.method = Objects.requireNonNull(method);
+        this.accessor = DiffReflections.getAccessor(method);
+        this.path = DiffPropertyPath.compile(this.value, pathType(method));
+        this.strategy = Objects.requireNonNull(strategy);
+        this.comparator = Objects.requireNonNull(comparator);
+        this.properties = new HashMap<>();
+        this.order = order(method);
+    }
+
+    private static int order(Method method) {
+        DiffOrder annotation = method.getAnnotation(DiffOrder.class);
+        return annotation == null ? 0 : annotation.value();
+    }
+
+    /**
+     * Resolves the declared type of the values where the property path starts: the element type of a collection
+     * getter, when it is declared by the generic return type, or the return type of the getter otherwise.
+     */
+    private static Class<?> pathType(Method method) {
+        if (!Collection.class.isAssignableFrom(method.getReturnType())) {
+            return method.getReturnType();
+        }
+
+        Type returnType = method.getGenericReturnType();
+
+        if (returnType instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) returnType).getActualTypeArguments();
+
+            if (arguments.length == 1 && arguments[0] instanceof Class) {
+                return (Class<?>) arguments[0];
+            }
+
+            if (arguments.length == 1 && arguments[0] instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) arguments[0]).getRawType();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compares the metadata by the {@link DiffOrder} of the getter, the order used by the configuration to sort the
+     * fields of the plan. Fields without the annotation have the order {@code 0}.
+     *
+     * @param o the metadata to compare.
+     *
+     * @return a negative number, zero or a positive number as this metadata comes before, with or after the other.
+     */
+    @Override
+    public int compareTo(DiffMetadata o) {
+        return Integer.compare(order, o.order);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DiffMetadata that = (DiffMetadata) o;
+        return Objects.equals(method, that.method);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method);
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public DiffAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * @return the compiled property path of the value, navigated from the value returned by the method.
+     */
+    DiffPropertyPath getPath() {
+        return path;
+    }
+
+    public DiffStrategy getStrategy() {
+        return strategy;
+    }
+
+    public DiffComparator<?> getComparator() {
+        return comparator;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+}
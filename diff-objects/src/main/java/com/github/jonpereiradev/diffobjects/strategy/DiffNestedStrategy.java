@@ -0,0 +1,132 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.builder.DiffReflections;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+
+import java.util.function.Predicate;
+
+
+/**
+ * Responsible for checking the difference between two objects, where the value navigates through the object's properties.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+final class DiffNestedStrategy implements DiffStrategy {
+
+    /**
+     * Checks the difference between two objects using the metadata configuration.
+     *
+     * @param expected the object that represents the expected state.
+     * @param current the object that represents the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the diff result between the two objects.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public DiffResult diff(Object expected, Object current, DiffMetadata metadata) {
+        DiffComparator comparator = metadata.getComparator();
+        DiffPropertyPath path = metadata.getPath();
+        Object expectedObject = path.apply(DiffReflections.invoke(expected, metadata.getAccessor()));
+        Object currentObject = path.apply(DiffReflections.invoke(current, metadata.getAccessor()));
+
+        boolean equals = comparator.isEquals(expectedObject, currentObject);
+        return DiffResult.forValue(expectedObject, currentObject, equals, metadata.getProperties());
+    }
+
+    /**
+     * Compares the nested values of two objects once, sending the result only when they are different.
+     *
+     * @param expected the object that represents the expected state.
+     * @param current the object that represents the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param changes receives the result when the values are different.
+     *
+     * @return {@code false} if the predicate stopped the diff, {@code true} otherwise.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public boolean diffChanges(Object expected, Object current, DiffMetadata metadata, Predicate<DiffResult> changes) {
+        DiffComparator comparator = metadata.getComparator();
+        Object expectedObject = value(expected, metadata);
+        Object currentObject = value(current, metadata);
+
+        if (comparator.isEquals(expectedObject, currentObject)) {
+            return true;
+        }
+
+        return changes.test(DiffResult.forValue(expectedObject, currentObject, false, metadata.getProperties()));
+    }
+
+    /**
+     * Checks if two objects are equal using the metadata configuration.
+     *
+     * @param expected the object that represents the expected state.
+     * @param current the object that represents the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if the two objects are equal, {@code false} otherwise.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public boolean isEquals(Object expected, Object current, DiffMetadata metadata) {
+        DiffComparator comparator = metadata.getComparator();
+        DiffPropertyPath path = metadata.getPath();
+        Object expectedObject = path.apply(DiffReflections.invoke(expected, metadata.getAccessor()));
+        Object currentObject = path.apply(DiffReflections.invoke(current, metadata.getAccessor()));
+
+        return comparator.isEquals(expectedObject, currentObject);
+    }
+
+    /**
+     * Gets the hash of the nested value of an object using the metadata configuration.
+     *
+     * @param object the object that is hashed.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the 64-bit hash of the nested value.
+     */
+    @Override
+    public long hash(Object object, DiffMetadata metadata) {
+        return DiffHashes.hash(metadata.getPath().apply(DiffReflections.invoke(object, metadata.getAccessor())));
+    }
+
+    /**
+     * Captures the nested value of an object using the metadata configuration.
+     *
+     * @param object the object that is captured.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the value at the end of the property path, or its copy.
+     *
+     * @see DiffSnapshots#copy(Object)
+     */
+    @Override
+    public Object snapshot(Object object, DiffMetadata metadata) {
+        return DiffSnapshots.copy(value(object, metadata));
+    }
+
+    private static Object value(Object object, DiffMetadata metadata) {
+        return metadata.getPath().apply(DiffReflections.invoke(object, metadata.getAccessor()));
+    }
+
+    /**
+     * Checks if a captured value is equal to the nested value of an object using the metadata configuration.
+     *
+     * @param snapshot the captured value that represents the expected state.
+     * @param current the object that represents the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if the values are equal, {@code false} otherwise.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public boolean isEqualsSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        DiffComparator comparator = metadata.getComparator();
+        return comparator.isEquals(snapshot, value(current, metadata));
+    }
+
+}
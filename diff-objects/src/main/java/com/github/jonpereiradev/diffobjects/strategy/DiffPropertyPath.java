@@ -0,0 +1,161 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffException;
+import com.github.jonpereiradev.diffobjects.builder.DiffAccessor;
+import com.github.jonpereiradev.diffobjects.builder.DiffReflections;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.Function;
+
+
+/**
+ * Property path navigated from a value, like {@code address.city.name}, compiled once into a chain of segments.
+ * <p>
+ * Each segment keeps a small cache of the accessors resolved for the runtime classes it has seen, so subclasses
+ * still resolve their own getters while the common case is a single class comparison before the getter call.
+ * The cache is seeded with the declared types of the path when they are known, like the element type of a collection.
+ *
+ * @author Jonathan Pereira
+ * @since 1.4.0
+ */
+final class DiffPropertyPath implements Function<Object, Object> {
+
+    private static final String REGEX_PROPERTY_SEPARATOR = "\\.";
+    private static final DiffPropertyPath EMPTY = new DiffPropertyPath(new DiffPathSegment[0]);
+
+    private final DiffPathSegment[] segments;
+
+    private DiffPropertyPath(DiffPathSegment[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the property path into its segments.
+     *
+     * @param path the properties separated by dots, or an empty string.
+     * @param type the declared type of the values where the path starts, or {@code null} if it is unknown.
+     *
+     * @return the compiled path.
+     */
+    static DiffPropertyPath compile(String path, Class<?> type) {
+        if (path.isEmpty()) {
+            return EMPTY;
+        }
+
+        String[] properties = path.split(REGEX_PROPERTY_SEPARATOR);
+        DiffPathSegment[] segments = new DiffPathSegment[properties.length];
+
+        for (int i = 0; i < properties.length; i++) {
+            segments[i] = new DiffPathSegment(properties[i]);
+        }
+
+        for (int i = 0; i < segments.length && type != null; i++) {
+            type = segments[i].seed(type);
+        }
+
+        return new DiffPropertyPath(segments);
+    }
+
+    boolean isEmpty() {
+        return segments.length == 0;
+    }
+
+    /**
+     * Navigates the path from the value.
+     *
+     * @param value the value where the path starts.
+     *
+     * @return the value at the end of the path or {@code null} if any value in the path is {@code null}.
+     */
+    @Override
+    public Object apply(Object value) {
+        for (int i = 0; i < segments.length && value != null; i++) {
+            value = segments[i].get(value);
+        }
+
+        return value;
+    }
+
+    /**
+     * A property of the path with a polymorphic inline cache of the accessors resolved by runtime class.
+     */
+    private static final class DiffPathSegment {
+
+        private static final int MAX_ENTRIES = 4;
+
+        private final String property;
+
+        private volatile DiffPathEntry[] entries = new DiffPathEntry[0];
+
+        private DiffPathSegment(String property) {
+            this.property = property;
+        }
+
+        private Object get(Object instance) {
+            Class<?> type = instance.getClass();
+
+            for (DiffPathEntry entry : entries) {
+                if (entry.type == type) {
+                    return entry.accessor.get(instance);
+                }
+            }
+
+            return resolve(type).get(instance);
+        }
+
+        /**
+         * Resolves the getter of the declared type ahead of the diff, caching it when the type can be a runtime class.
+         *
+         * @return the declared type of the next segment, or {@code null} if the getter can't be resolved.
+         */
+        private Class<?> seed(Class<?> type) {
+            Method method;
+
+            try {
+                method = DiffReflections.discoverGetter(type, property);
+            } catch (DiffException e) {
+                // the getter may exist only on the runtime classes, so it is resolved during the diff
+                return null;
+            }
+
+            if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+                cache(type, DiffReflections.getAccessor(method));
+            }
+
+            return method.getReturnType();
+        }
+
+        private DiffAccessor resolve(Class<?> type) {
+            DiffAccessor accessor = DiffReflections.discoverAccessor(type, property);
+
+            cache(type, accessor);
+            return accessor;
+        }
+
+        private void cache(Class<?> type, DiffAccessor accessor) {
+            DiffPathEntry[] entries = this.entries;
+
+            // megamorphic segments stop caching and resolve the classes that don't fit in the cache on each call
+            if (entries.length < MAX_ENTRIES) {
+                DiffPathEntry[] copy = Arrays.copyOf(entries, entries.length + 1);
+                copy[entries.length] = new DiffPathEntry(type, accessor);
+                this.entries = copy;
+            }
+        }
+    }
+
+    private static final class DiffPathEntry {
+
+        private final Class<?> type;
+        private final DiffAccessor accessor;
+
+        private DiffPathEntry(Class<?> type, DiffAccessor accessor) {
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+
+}
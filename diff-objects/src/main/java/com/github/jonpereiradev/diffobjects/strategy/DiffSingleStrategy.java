@@ -0,0 +1,100 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.builder.DiffReflections;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+
+
+/**
+ * Responsible for checking the difference between two simple objects (without nested properties).
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+final class DiffSingleStrategy implements DiffStrategy {
+
+    /**
+     * Checks the difference between two objects using the metadata configuration.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the diff result between the two objects.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public DiffResult diff(Object expected, Object current, DiffMetadata metadata) {
+        Object expectedValue = DiffReflections.invoke(expected, metadata.getAccessor());
+        Object currentValue = DiffReflections.invoke(current, metadata.getAccessor());
+        DiffComparator comparator = metadata.getComparator();
+        boolean equals = comparator.isEquals(expectedValue, currentValue);
+
+        return DiffResult.forValue(expectedValue, currentValue, equals, metadata.getProperties());
+    }
+
+    /**
+     * Checks if two objects are equal using the metadata configuration.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if the two objects are equal, {@code false} otherwise.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public boolean isEquals(Object expected, Object current, DiffMetadata metadata) {
+        Object expectedValue = DiffReflections.invoke(expected, metadata.getAccessor());
+        Object currentValue = DiffReflections.invoke(current, metadata.getAccessor());
+        DiffComparator comparator = metadata.getComparator();
+
+        return comparator.isEquals(expectedValue, currentValue);
+    }
+
+    /**
+     * Gets the hash of the value of an object using the metadata configuration.
+     *
+     * @param object the object to hash.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the 64-bit hash of the value.
+     */
+    @Override
+    public long hash(Object object, DiffMetadata metadata) {
+        return DiffHashes.hash(DiffReflections.invoke(object, metadata.getAccessor()));
+    }
+
+    /**
+     * Captures the value of an object using the metadata configuration.
+     *
+     * @param object the object to capture.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the value returned by the getter, or its copy.
+     *
+     * @see DiffSnapshots#copy(Object)
+     */
+    @Override
+    public Object snapshot(Object object, DiffMetadata metadata) {
+        return DiffSnapshots.copy(DiffReflections.invoke(object, metadata.getAccessor()));
+    }
+
+    /**
+     * Checks if a captured value is equal to the value of an object using the metadata configuration.
+     *
+     * @param snapshot the captured value representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if the values are equal, {@code false} otherwise.
+     */
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public boolean isEqualsSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        DiffComparator comparator = metadata.getComparator();
+        return comparator.isEquals(snapshot, DiffReflections.invoke(current, metadata.getAccessor()));
+    }
+
+}
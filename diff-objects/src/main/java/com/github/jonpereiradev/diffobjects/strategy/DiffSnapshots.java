@@ -0,0 +1,85 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Captures the values of a snapshot, so the values changed in place after the capture are not seen by the snapshot.
+ * <p>
+ * Collections, maps, arrays, dates and calendars are copied. Their elements are captured by reference, like the
+ * elements of {@link DiffCollections#snapshot(Collection, java.util.function.Function)}. The other values, like the
+ * immutable values of the JDK and the objects of the application, are captured by reference, so they are compared
+ * later with the comparator of the field: a different instance that is not equal is a change, while the changes made
+ * in place to the captured instance are not seen by the snapshot. Map the properties of such values with a nested or
+ * deep mapping to capture their state.
+ * <p>
+ * It is public so the diff engine can capture the values of the fields read without a strategy.
+ *
+ * @author Jonathan Pereira
+ * @see DiffStrategy#snapshot(Object, DiffMetadata)
+ * @since 1.4.0
+ */
+public final class DiffSnapshots {
+
+    private DiffSnapshots() {
+    }
+
+    /**
+     * Copies the collections, maps, arrays, dates and calendars, returning the other values as they are.
+     *
+     * @param value the value to copy.
+     *
+     * @return the copy of the value, or the value itself.
+     */
+    public static Object copy(Object value) {
+        if (value instanceof List) {
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        }
+
+        if (value instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+        }
+
+        if (value instanceof Collection) {
+            return Collections.unmodifiableCollection(new ArrayList<>((Collection<?>) value));
+        }
+
+        if (value instanceof Map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+        }
+
+        if (value != null && value.getClass().isArray()) {
+            return copyArray(value);
+        }
+
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+
+        if (value instanceof Calendar) {
+            return ((Calendar) value).clone();
+        }
+
+        return value;
+    }
+
+    private static Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+
+/**
+ * Defines a strategy to compare two objects and generate the diff result.
+ *
+ * @author Jonathan Pereira
+ * @see DiffSingleStrategy
+ * @see DiffNestedStrategy
+ * @see DiffCollectionStrategy
+ * @see DiffDeepStrategy
+ * @since 1.0.0
+ */
+public interface DiffStrategy {
+
+    /**
+     * Checks the difference between two objects using the metadata configuration.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the diff result between the two objects.
+     */
+    DiffResult diff(Object expected, Object current, DiffMetadata metadata);
+
+    /**
+     * Checks the difference between two objects using the metadata configuration, sending each result to the consumer.
+     * <p>
+     * The default implementation sends the single result of {@link #diff(Object, Object, DiffMetadata)}. Strategies
+     * that compare many properties for a single mapping, like {@link DiffStrategyType#DEEP}, send a result for each
+     * property.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param results receives the diff results between the two objects.
+     */
+    default void diff(Object expected, Object current, DiffMetadata metadata, Consumer<DiffResult> results) {
+        results.accept(diff(expected, current, metadata));
+    }
+
+    /**
+     * Checks the difference between two objects, sending each result with differences to the predicate until it
+     * returns {@code false}.
+     * <p>
+     * The default implementation sends the single result of {@link #diff(Object, Object, DiffMetadata)} when it has
+     * differences. Strategies that compare many properties for a single mapping, like {@link DiffStrategyType#DEEP},
+     * send a result for each property with differences and stop comparing the properties when the predicate returns
+     * {@code false}.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param changes receives the results with differences, returning {@code false} to stop the diff.
+     *
+     * @return {@code false} if the predicate stopped the diff, {@code true} otherwise.
+     *
+     * @since 1.4.0
+     */
+    default boolean diffChanges(Object expected, Object current, DiffMetadata metadata, Predicate<DiffResult> changes) {
+        DiffResult result = diff(expected, current, metadata);
+        return result.isEquals() || changes.test(result);
+    }
+
+    /**
+     * Checks if two objects are equal using the metadata configuration, without creating a diff result.
+     * <p>
+     * The default implementation reads the equality from {@link #diff(Object, Object, DiffMetadata)}. The strategies
+     * of the library override it to compare the values without allocating.
+     *
+     * @param expected the object representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if the two objects are equal, {@code false} otherwise.
+     */
+    default boolean isEquals(Object expected, Object current, DiffMetadata metadata) {
+        return diff(expected, current, metadata).isEquals();
+    }
+
+    /**
+     * Gets the structural hash of the mapped value of an object, consistent with the equality of the strategy.
+     * <p>
+     * The default implementation hashes the expected value of {@link #diff(Object, Object, DiffMetadata)} with
+     * {@link DiffHashes#hash(Object)}. Values compared with comparators that are not consistent with {@code equals}
+     * can have different hashes even when they are equal for the comparator.
+     *
+     * @param object the object to hash.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the 64-bit hash of the mapped value.
+     *
+     * @since 1.4.0
+     */
+    default long hash(Object object, DiffMetadata metadata) {
+        return DiffHashes.hash(diff(object, object, metadata).getExpected());
+    }
+
+    /**
+     * Captures the mapped value of an object, to be compared later with the same mapping of another state.
+     * <p>
+     * The default implementation captures the expected value of {@link #diff(Object, Object, DiffMetadata)}. The
+     * value is captured by reference, so a snapshot doesn't copy the object graph.
+     *
+     * @param object the object to capture.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the captured value.
+     *
+     * @since 1.4.0
+     */
+    default Object snapshot(Object object, DiffMetadata metadata) {
+        return diff(object, object, metadata).getExpected();
+    }
+
+    /**
+     * Checks the difference between a value captured by {@link #snapshot(Object, DiffMetadata)} and an object.
+     *
+     * @param snapshot the captured value representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return the diff result between the captured value and the object.
+     *
+     * @since 1.4.0
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    default DiffResult diffSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        Object currentValue = snapshot(current, metadata);
+        DiffComparator comparator = metadata.getComparator();
+        boolean equals = comparator.isEquals(snapshot, currentValue);
+
+        return DiffResult.forValue(snapshot, currentValue, equals, metadata.getProperties());
+    }
+
+    /**
+     * Checks the difference between a captured value and an object, sending each result to the consumer.
+     * <p>
+     * The default implementation sends the single result of {@link #diffSnapshot(Object, Object, DiffMetadata)}, like
+     * {@link #diff(Object, Object, DiffMetadata, Consumer)}.
+     *
+     * @param snapshot the captured value representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     * @param results receives the diff results between the captured value and the object.
+     *
+     * @since 1.4.0
+     */
+    default void diffSnapshot(Object snapshot, Object current, DiffMetadata metadata, Consumer<DiffResult> results) {
+        results.accept(diffSnapshot(snapshot, current, metadata));
+    }
+
+    /**
+     * Checks if a captured value is equal to the mapped value of an object, without creating a diff result.
+     *
+     * @param snapshot the captured value representing the expected state.
+     * @param current the object representing the current state.
+     * @param metadata the metadata containing the configuration for the diff.
+     *
+     * @return {@code true} if the captured value and the object are equal, {@code false} otherwise.
+     *
+     * @since 1.4.0
+     */
+    default boolean isEqualsSnapshot(Object snapshot, Object current, DiffMetadata metadata) {
+        return diffSnapshot(snapshot, current, metadata).isEquals();
+    }
+
+}
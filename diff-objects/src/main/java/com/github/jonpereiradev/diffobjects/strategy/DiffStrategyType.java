@@ -0,0 +1,51 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+/**
+ * The types of strategies provided by the API to execute the diff operation.
+ *
+ * @author Jonathan Pereira
+ * @since 1.0.0
+ */
+public enum DiffStrategyType {
+
+    SINGLE(new DiffSingleStrategy()),
+    NESTED(new DiffNestedStrategy()),
+    COLLECTION(new DiffCollectionStrategy()),
+
+    /**
+     * Walks the object graph of the property recursively, with a result for each compared property of the graph.
+     * <p>
+     * The diffs that return a single result for each mapping, like {@code diffLazy}, {@code diffConcurrent} and
+     * {@code changeMask}, aggregate the graph in a result that is equal if no property of the graph is different.
+     *
+     * @see #deep(int, int)
+     */
+    DEEP(new DiffDeepStrategy(DiffDeepStrategy.DEFAULT_MAX_DEPTH, DiffDeepStrategy.DEFAULT_MAX_NODES));
+
+    private final DiffStrategy strategy;
+
+    DiffStrategyType(DiffStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public DiffStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Creates a {@link #DEEP} strategy with custom limits for the walk.
+     *
+     * @param maxDepth the depth of the graph where the objects are compared with the comparator instead of walked.
+     * @param maxNodes the maximum number of objects walked in a diff, failing with a
+     *     {@link com.github.jonpereiradev.diffobjects.DiffException} when the graph is larger.
+     *
+     * @return the strategy with the limits.
+     *
+     * @since 1.4.0
+     */
+    public static DiffStrategy deep(int maxDepth, int maxNodes) {
+        return new DiffDeepStrategy(maxDepth, maxNodes);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.lang.invoke.MethodHandles;
+
+
+/**
+ * Defines the classes generated at runtime in the package of a lookup.
+ * <p>
+ * This implementation is used on Java 21 or later and defines hidden classes, which can't be found by name and are
+ * unloaded when they are not reachable anymore, like a differ evicted with its class.
+ *
+ * @author Jonathan Pereira
+ * @see DiffCompiler
+ * @since 1.4.0
+ */
+final class DiffClasses {
+
+    private DiffClasses() {
+    }
+
+    /**
+     * Defines a hidden class in the package of the lookup.
+     *
+     * @param lookup the lookup of a class in the package of the defined class.
+     * @param bytes the class file of the defined class.
+     *
+     * @return the defined class.
+     *
+     * @throws IllegalAccessException if the lookup can't define classes.
+     */
+    static Class<?> define(MethodHandles.Lookup lookup, byte[] bytes) throws IllegalAccessException {
+        return lookup.defineHiddenClass(bytes, true).lookupClass();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Provides the threads that evaluate the fields of a concurrent diff.
+ * <p>
+ * This implementation is used on Java 21 or later and starts a virtual thread per field, so getters blocked on I/O
+ * don't hold platform threads. Virtual threads are cheap to start, so each diff has its own executor.
+ *
+ * @author Jonathan Pereira
+ * @see DiffObjects#diffConcurrent(Object, Object, DiffConfig, java.time.Duration)
+ * @since 1.4.0
+ */
+final class DiffThreads {
+
+    static final String THREAD_NAME_PREFIX = "diff-objects-field-";
+
+    private DiffThreads() {
+    }
+
+    /**
+     * Creates the executor of a diff, starting a new virtual thread for each task.
+     *
+     * @return the executor, released by the caller with {@link #release(ExecutorService)} when the diff finishes.
+     */
+    static ExecutorService executor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+    }
+
+    /**
+     * Releases the executor of a diff, after its tasks finished or were cancelled.
+     *
+     * @param executor the executor of the diff.
+     */
+    static void release(ExecutorService executor) {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * Measures the bytes allocated by the calls of a check on the current thread.
+ * <p>
+ * The check is warmed up until it is compiled, so the allocations removed by the JIT, like the iterators of
+ * collections that don't escape, are not counted. The average of each round is compared with a tolerance below one
+ * byte per call, so a one-off allocation of the JVM while the round runs doesn't fail the test, while a check that
+ * allocates an object on each call allocates at least 16 bytes per call.
+ */
+final class DiffAllocations {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int ROUNDS = 5;
+    private static final double TOLERANCE = 1.0;
+
+    private DiffAllocations() {
+    }
+
+    /**
+     * Asserts that the check returns {@code true} and allocates less than one byte per call in one of the rounds.
+     * The test is skipped when the JVM doesn't measure the allocations of a thread.
+     */
+    static void assertNoAllocation(BooleanSupplier check) {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            Assertions.assertTrue(check.getAsBoolean());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        double allocated = Double.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS && allocated >= TOLERANCE; round++) {
+            long measurementStart = threadMXBean.getThreadAllocatedBytes(threadId);
+            long measurementEnd = threadMXBean.getThreadAllocatedBytes(threadId);
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            boolean result = true;
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                result &= check.getAsBoolean();
+            }
+
+            long after = threadMXBean.getThreadAllocatedBytes(threadId);
+
+            Assertions.assertTrue(result);
+            allocated = Math.min(allocated, (double) (after - before - (measurementEnd - measurementStart)) / ITERATIONS);
+        }
+
+        Assertions.assertTrue(allocated < TOLERANCE, "Allocated " + allocated + " bytes per call");
+    }
+
+}
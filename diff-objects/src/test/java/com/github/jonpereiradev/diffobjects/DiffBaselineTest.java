@@ -0,0 +1,152 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import com.github.jonpereiradev.diffobjects.model.RecordElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffBaselineTest {
+
+    private final DiffConfig config = DiffConfigBuilder
+        .forClass(RecordElement.class)
+        .mapping()
+        .fields()
+        .map("price")
+        .map("active")
+        .map("name")
+        .map("tags")
+        .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOpenMustNotBeDirtyForTheObjectsOfTheBaseline() {
+        Path file = directory.resolve("baseline.bin");
+        List<RecordElement> objects = elements(100);
+
+        DiffBaseline.write(file, objects, config, RecordElement::getId);
+        DiffBaseline<RecordElement> baseline = DiffBaseline.open(file, config, RecordElement::getId);
+
+        Assertions.assertEquals(100, baseline.size());
+
+        for (RecordElement object : elements(100)) {
+            Assertions.assertTrue(baseline.contains(object));
+            Assertions.assertFalse(baseline.isDirty(object));
+            Assertions.assertTrue(baseline.changeSet(object).isEmpty());
+        }
+    }
+
+    @Test
+    void testChangeSetMustHaveTheBitOfEachChangedField() {
+        Path file = directory.resolve("baseline.bin");
+        DiffBaseline.write(file, elements(10), config, RecordElement::getId);
+        DiffBaseline<RecordElement> baseline = DiffBaseline.open(file, config, RecordElement::getId);
+        RecordElement changed = elements(10).get(5);
+
+        changed.setName("Changed");
+        changed.getTags().add("new");
+
+        BitSet expected = new BitSet();
+        expected.set(2);
+        expected.set(3);
+
+        Assertions.assertTrue(baseline.isDirty(changed));
+        Assertions.assertEquals(expected, baseline.changeSet(changed));
+    }
+
+    @Test
+    void testObjectWithoutRecordMustBeDirty() {
+        Path file = directory.resolve("baseline.bin");
+        DiffBaseline.write(file, elements(10), config, RecordElement::getId);
+        DiffBaseline<RecordElement> baseline = DiffBaseline.open(file, config, RecordElement::getId);
+        RecordElement added = new RecordElement(10, 10, true, "Name 10");
+
+        Assertions.assertFalse(baseline.contains(added));
+        Assertions.assertTrue(baseline.isDirty(added));
+        assertThrows(DiffException.class, () -> baseline.changeSet(added));
+    }
+
+    @Test
+    void testWriteWithDuplicateKeysMustThrowDiffException() {
+        Path file = directory.resolve("baseline.bin");
+        List<RecordElement> objects = Arrays.asList(new RecordElement(1, 1, true, "A"), new RecordElement(1, 2, true, "B"));
+
+        assertThrows(DiffException.class, () -> DiffBaseline.write(file, objects, config, RecordElement::getId));
+    }
+
+    @Test
+    void testKeysWithTheSameHashMustFindTheirOwnRecords() {
+        Path file = directory.resolve("baseline.bin");
+        List<RecordElement> objects = elements(2);
+
+        // Long.hashCode of 0 and -1 is 0 for both
+        DiffBaseline.write(file, objects, config, object -> (long) -object.getId());
+        DiffBaseline<RecordElement> baseline = DiffBaseline.open(file, config, object -> (long) -object.getId());
+        RecordElement changed = elements(2).get(1);
+
+        changed.setName("Changed");
+
+        Assertions.assertFalse(baseline.isDirty(elements(2).get(0)));
+        Assertions.assertTrue(baseline.isDirty(changed));
+        Assertions.assertFalse(baseline.contains(new RecordElement(-2, 0, true, "Name 0")));
+    }
+
+    @Test
+    void testWriteWithFieldWithoutStableHashMustThrowDiffException() {
+        Path file = directory.resolve("baseline.bin");
+        DiffConfig unstable = DiffConfigBuilder.forClass(ComplexElement.class).mapping().fields().map("objectElementList").build();
+        List<ComplexElement> objects = Collections.singletonList(new ComplexElement(Arrays.asList(new ObjectElement("A"))));
+
+        DiffException exception = assertThrows(
+            DiffException.class,
+            () -> DiffBaseline.write(file, objects, unstable, object -> "key"));
+
+        Assertions.assertTrue(exception.getMessage().contains("objectElementList"));
+    }
+
+    @Test
+    void testOpenWithChangedMappingMustThrowDiffException() {
+        Path file = directory.resolve("baseline.bin");
+        DiffConfig changed = DiffConfigBuilder.forClass(RecordElement.class).mapping().fields().map("price").map("name").build();
+
+        DiffBaseline.write(file, elements(10), config, RecordElement::getId);
+
+        assertThrows(DiffException.class, () -> DiffBaseline.open(file, changed, RecordElement::getId));
+    }
+
+    @Test
+    void testOpenOfFileThatIsNotABaselineMustThrowDiffException() throws IOException {
+        Path file = Files.write(directory.resolve("other.bin"), "not a baseline file".getBytes());
+        assertThrows(DiffException.class, () -> DiffBaseline.open(file, config, RecordElement::getId));
+    }
+
+    private static List<RecordElement> elements(int size) {
+        List<RecordElement> elements = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            RecordElement element = new RecordElement(i, i * 1.5, i % 2 == 0, "Name " + i % 7);
+            element.getTags().add("Tag " + i % 3);
+            elements.add(element);
+        }
+
+        return elements;
+    }
+
+}
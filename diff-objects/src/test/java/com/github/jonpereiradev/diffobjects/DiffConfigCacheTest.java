@@ -0,0 +1,36 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+class DiffConfigCacheTest {
+
+    @Test
+    void testCacheMustReturnSameConfigForSameClass() {
+        DiffConfig config = DiffConfigCache.get(ObjectElement.class);
+
+        Assertions.assertSame(config, DiffConfigCache.get(ObjectElement.class));
+        Assertions.assertEquals(1, config.build().size());
+    }
+
+    @Test
+    void testCacheMustBuildNewConfigAfterEviction() {
+        DiffConfig config = DiffConfigCache.get(ObjectElement.class);
+
+        DiffObjects.evict(ObjectElement.class);
+
+        Assertions.assertNotSame(config, DiffConfigCache.get(ObjectElement.class));
+    }
+
+    @Test
+    void testDiffObjectsMustKeepResultsWithCachedConfig() {
+        DiffObjects<ObjectElement> diffObjects = DiffObjects.forClass(ObjectElement.class);
+
+        Assertions.assertTrue(diffObjects.isEquals(new ObjectElement("Object"), new ObjectElement("Object")));
+        Assertions.assertFalse(diffObjects.isEquals(new ObjectElement("Object A"), new ObjectElement("Object B")));
+    }
+
+}
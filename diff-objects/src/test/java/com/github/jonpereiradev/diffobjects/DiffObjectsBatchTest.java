@@ -0,0 +1,107 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffObjectsBatchTest {
+
+    private static final int SIZE = 1000;
+
+    private DiffObjects<ObjectElement> diffObjects;
+    private DiffConfig configuration;
+    private ExecutorService executor;
+    private List<ObjectElement> expected;
+    private List<ObjectElement> current;
+
+    @BeforeEach
+    void beforeEach() {
+        diffObjects = DiffObjects.forClass(ObjectElement.class);
+        configuration = DiffConfigBuilder.forClass(ObjectElement.class).mapping().fields().map("name").build();
+        executor = Executors.newFixedThreadPool(4);
+        expected = new ArrayList<>();
+        current = new ArrayList<>();
+
+        for (int i = 0; i < SIZE; i++) {
+            expected.add(new ObjectElement("Object " + i));
+            current.add(new ObjectElement(i % 3 == 0 ? "Changed " + i : "Object " + i));
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testDiffAllWithDifferentSizesMustThrowDiffException() {
+        List<ObjectElement> smaller = current.subList(1, SIZE);
+        assertThrows(DiffException.class, () -> diffObjects.diffAll(expected, smaller, configuration, executor));
+    }
+
+    @Test
+    void testDiffAllMustReturnResultsInInputOrder() {
+        List<DiffResults> results = diffObjects.diffAll(expected, new LinkedList<>(current), configuration, executor);
+
+        Assertions.assertEquals(SIZE, results.size());
+
+        for (int i = 0; i < SIZE; i++) {
+            DiffResult result = results.get(i).getResults().get(0);
+
+            Assertions.assertEquals("Object " + i, result.getExpected());
+            Assertions.assertEquals(current.get(i).getName(), result.getCurrent());
+            Assertions.assertEquals(i % 3 != 0, result.isEquals());
+        }
+    }
+
+    @Test
+    void testDiffAllWithCommonPoolMustReturnSameResultsAsSerialDiff() {
+        List<DiffResults> results = diffObjects.diffAll(expected, current, configuration);
+
+        for (int i = 0; i < SIZE; i++) {
+            DiffResults serial = diffObjects.diff(expected.get(i), current.get(i), configuration);
+            Assertions.assertEquals(serial.getResults().get(0).isEquals(), results.get(i).getResults().get(0).isEquals());
+        }
+    }
+
+    @Test
+    void testDiffAllWithListenerMustNotifyEachPairOnce() {
+        AtomicIntegerArray calls = new AtomicIntegerArray(SIZE);
+
+        diffObjects.diffAll(expected, current, configuration, executor, (index, results) -> calls.incrementAndGet(index));
+
+        for (int i = 0; i < SIZE; i++) {
+            Assertions.assertEquals(1, calls.get(i));
+        }
+    }
+
+    @Test
+    void testDiffAllMustRethrowExceptionOfWorker() {
+        List<ObjectElement> withNull = new ArrayList<>(current);
+        withNull.set(SIZE - 1, null);
+
+        assertThrows(NullPointerException.class, () -> diffObjects.diffAll(expected, withNull, configuration, executor));
+    }
+
+    @Test
+    void testDiffAllWithEmptyListsMustReturnEmptyList() {
+        List<ObjectElement> empty = Collections.emptyList();
+        Assertions.assertTrue(diffObjects.diffAll(empty, empty, configuration, executor).isEmpty());
+    }
+
+}
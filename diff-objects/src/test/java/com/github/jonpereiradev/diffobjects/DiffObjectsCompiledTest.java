@@ -0,0 +1,132 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.annotation.DiffMapping;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsIgnoreCaseComparator;
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import com.github.jonpereiradev.diffobjects.model.RecordElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+class DiffObjectsCompiledTest {
+
+    private final DiffConfig recordConfig = DiffConfigBuilder
+        .forClass(RecordElement.class)
+        .mapping()
+        .fields()
+        .map("id")
+        .map("price")
+        .map("active")
+        .map("name", new EqualsIgnoreCaseComparator())
+        .map("tags")
+        .build();
+
+    @Test
+    void testCompiledMustGenerateTheDifferOfPublicClasses() {
+        Assertions.assertTrue(DiffCompiler.get(ObjectElement2.class) instanceof DiffCompiledDiffer);
+        Assertions.assertTrue(DiffCompiler.compile(RecordElement.class, recordConfig.getPlan()) instanceof DiffCompiledDiffer);
+    }
+
+    @Test
+    void testCompiledDiffMustReturnSameResultsAsForClass() {
+        ObjectElement2 objectA = new ObjectElement2("Object", "name A");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name B");
+
+        assertSameResults(
+            DiffObjects.forClass(ObjectElement2.class).diff(objectA, objectB),
+            DiffObjects.compiled(ObjectElement2.class).diff(objectA, objectB));
+        assertSameResults(
+            DiffObjects.forClass(ObjectElement2.class).diffChanges(objectA, objectB),
+            DiffObjects.compiled(ObjectElement2.class).diffChanges(objectA, objectB));
+    }
+
+    @Test
+    void testCompiledDiffMustReturnSameResultsForNestedAndCollectionFields() {
+        ComplexElement complexA = new ComplexElement(new ObjectElement("Object A"));
+        ComplexElement complexB = new ComplexElement(new ObjectElement("Object B"));
+
+        complexA.getObjectElementList().add(new ObjectElement("Object"));
+        complexB.getObjectElementList().add(new ObjectElement("Other"));
+
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffObjects<ComplexElement> compiled = DiffObjects.compiled(ComplexElement.class);
+
+        assertSameResults(diffObjects.diff(complexA, complexB), compiled.diff(complexA, complexB));
+        assertSameResults(diffObjects.diffChanges(complexA, complexB), compiled.diffChanges(complexA, complexB));
+        Assertions.assertFalse(compiled.isEquals(complexA, complexB));
+        Assertions.assertTrue(compiled.isEquals(complexA, complexA));
+    }
+
+    @Test
+    void testCompiledIsEqualsMustCheckAllFields() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.compiled(ObjectElement2.class);
+
+        Assertions.assertTrue(diffObjects.isEquals(new ObjectElement2("Object", "name"), new ObjectElement2("Object", "name")));
+        Assertions.assertFalse(diffObjects.isEquals(new ObjectElement2("Object", "name A"), new ObjectElement2("Object", "name B")));
+        Assertions.assertFalse(diffObjects.isEquals(new ObjectElement2("Object A", "name"), new ObjectElement2("Object B", "name")));
+    }
+
+    @Test
+    void testCompiledDifferMustCompareThePrimitiveValuesLikeTheirWrappers() {
+        DiffDiffer<RecordElement> differ = DiffCompiler.compile(RecordElement.class, recordConfig.getPlan());
+        RecordElement record = new RecordElement(1, 0.0, true, "Name");
+
+        Assertions.assertTrue(differ.isEquals(record, new RecordElement(1, 0.0, true, "NAME")));
+        Assertions.assertFalse(differ.isEquals(record, new RecordElement(2, 0.0, true, "Name")));
+        Assertions.assertFalse(differ.isEquals(record, new RecordElement(1, -0.0, true, "Name")));
+        Assertions.assertFalse(differ.isEquals(record, new RecordElement(1, 0.0, false, "Name")));
+        Assertions.assertFalse(differ.isEquals(record, new RecordElement(1, 0.0, true, "Other")));
+        Assertions.assertTrue(differ.isEquals(new RecordElement(1, Double.NaN, true, "N"), new RecordElement(1, Double.NaN, true, "N")));
+
+        RecordElement other = new RecordElement(2, 1.5, true, "name");
+        other.getTags().add("tag");
+
+        assertSameResults(recordConfig.getPlan().diff(record, other), differ.diff(record, other));
+        assertSameResults(recordConfig.getPlan().diffChanges(record, other), differ.diffChanges(record, other));
+    }
+
+    @Test
+    void testCompiledOfClassThatIsNotPublicMustUseThePlan() {
+        HiddenElement objectA = new HiddenElement("A");
+        HiddenElement objectB = new HiddenElement("B");
+
+        Assertions.assertNull(DiffCompiler.get(HiddenElement.class));
+        assertSameResults(
+            DiffObjects.forClass(HiddenElement.class).diff(objectA, objectB),
+            DiffObjects.compiled(HiddenElement.class).diff(objectA, objectB));
+        Assertions.assertFalse(DiffObjects.compiled(HiddenElement.class).isEquals(objectA, objectB));
+    }
+
+    private static void assertSameResults(DiffResults expected, DiffResults results) {
+        Assertions.assertEquals(expected.size(), results.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            DiffResult expectedResult = expected.getResults().get(i);
+            DiffResult result = results.getResults().get(i);
+
+            Assertions.assertEquals(expectedResult.getField(), result.getField());
+            Assertions.assertEquals(expectedResult.getExpected(), result.getExpected());
+            Assertions.assertEquals(expectedResult.getCurrent(), result.getCurrent());
+            Assertions.assertEquals(expectedResult.isEquals(), result.isEquals());
+        }
+    }
+
+    static class HiddenElement {
+
+        private final String name;
+
+        HiddenElement(String name) {
+            this.name = name;
+        }
+
+        @DiffMapping
+        public String getName() {
+            return name;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.model.ImmutableElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffObjectsConcurrentTest {
+
+    private final DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+
+    @Test
+    void testDiffConcurrentWithNullTimeoutMustThrowNullPointerException() {
+        ObjectElement2 object = new ObjectElement2("Object", "name");
+        DiffConfig config = config((expected, current) -> true);
+
+        assertThrows(NullPointerException.class, () -> diffObjects.diffConcurrent(object, object, config, null));
+    }
+
+    @Test
+    void testDiffConcurrentMustEvaluateFieldsOnOtherThreadsAndKeepPlanOrder() {
+        CountDownLatch latch = new CountDownLatch(2);
+        DiffConfig config = config((expected, current) -> {
+            Assertions.assertTrue(Thread.currentThread().getName().startsWith(DiffThreads.THREAD_NAME_PREFIX));
+
+            // each field waits for the other, so the diff only finishes if the fields run concurrently
+            latch.countDown();
+            await(latch);
+
+            return Objects.equals(expected, current);
+        });
+
+        DiffResults results = diffObjects.diffConcurrent(
+            new ObjectElement2("A", "A"),
+            new ObjectElement2("A", "B"),
+            config,
+            Duration.ofSeconds(10));
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals("name", results.getResults().get(0).getField());
+        Assertions.assertTrue(results.getResults().get(0).isEquals());
+        Assertions.assertEquals("name2", results.getResults().get(1).getField());
+        Assertions.assertFalse(results.getResults().get(1).isEquals());
+    }
+
+    @Test
+    void testDiffConcurrentMustReturnTheResultsOfDiffForDeepFields() {
+        DiffObjects<ImmutableElement> deepObjects = DiffObjects.forClass(ImmutableElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ImmutableElement.class).mapping().fields().map("name").deep("child").build();
+        ImmutableElement expected = new ImmutableElement("Root", new ImmutableElement("A", new ImmutableElement("B", null)));
+        ImmutableElement current = new ImmutableElement("Root", new ImmutableElement("A", new ImmutableElement("C", null)));
+
+        DiffResults diff = deepObjects.diff(expected, current, config);
+        DiffResults results = deepObjects.diffConcurrent(expected, current, config, Duration.ofSeconds(10));
+
+        Assertions.assertEquals(diff.size(), results.size());
+        Assertions.assertTrue(results.size() > 2);
+
+        for (int i = 0; i < diff.size(); i++) {
+            Assertions.assertEquals(diff.getResults().get(i).getField(), results.getResults().get(i).getField());
+            Assertions.assertEquals(diff.getResults().get(i).isEquals(), results.getResults().get(i).isEquals());
+        }
+    }
+
+    @Test
+    void testDiffConcurrentMustRethrowExceptionOfField() {
+        ObjectElement2 object = new ObjectElement2("Object", "name");
+        DiffConfig config = config((expected, current) -> {
+            throw new DiffException("Field failed");
+        });
+
+        DiffException exception = assertThrows(DiffException.class, () -> diffObjects.diffConcurrent(object, object, config, Duration.ofSeconds(10)));
+        Assertions.assertEquals("Field failed", exception.getMessage());
+    }
+
+    @Test
+    void testDiffConcurrentMustThrowDiffExceptionOnTimeout() {
+        ObjectElement2 object = new ObjectElement2("Object", "name");
+        CountDownLatch latch = new CountDownLatch(1);
+        DiffConfig config = config((expected, current) -> {
+            await(latch);
+            return true;
+        });
+
+        assertThrows(DiffException.class, () -> diffObjects.diffConcurrent(object, object, config, Duration.ofMillis(50)));
+    }
+
+    private static DiffConfig config(DiffComparator<String> comparator) {
+        return DiffConfigBuilder.forClass(ObjectElement2.class)
+            .mapping()
+            .fields()
+            .map("name", comparator)
+            .map("name2", comparator)
+            .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
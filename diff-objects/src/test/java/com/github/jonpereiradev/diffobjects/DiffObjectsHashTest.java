@@ -0,0 +1,169 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.UnorderedComparator;
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
+import com.github.jonpereiradev.diffobjects.model.GraphElement;
+import com.github.jonpereiradev.diffobjects.model.ImmutableAmountElement;
+import com.github.jonpereiradev.diffobjects.model.ImmutableElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffObjectsHashTest {
+
+    @Test
+    void testHashWithNullObjectMustThrowNullPointerException() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        assertThrows(NullPointerException.class, () -> diffObjects.hash(null));
+    }
+
+    @Test
+    void testHashOfEqualObjectsMustBeEqual() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+
+        Assertions.assertEquals(diffObjects.hash(new ObjectElement2("A", "B")), diffObjects.hash(new ObjectElement2("A", "B")));
+    }
+
+    @Test
+    void testHashMustChangeWhenAnyMappedFieldChanges() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        long hash = diffObjects.hash(new ObjectElement2("A", "B"));
+
+        Assertions.assertNotEquals(hash, diffObjects.hash(new ObjectElement2("A", "C")));
+        Assertions.assertNotEquals(hash, diffObjects.hash(new ObjectElement2("C", "B")));
+
+        // the order of the fields is part of the hash
+        Assertions.assertNotEquals(hash, diffObjects.hash(new ObjectElement2("B", "A")));
+    }
+
+    @Test
+    void testHashMustIgnoreFieldsNotMapped() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().fields().map("name").build();
+
+        Assertions.assertEquals(
+            diffObjects.hash(new ObjectElement2("A", "B"), config),
+            diffObjects.hash(new ObjectElement2("A", "C"), config));
+    }
+
+    @Test
+    void testHashOfUnorderedCollectionMustNotDependOnOrder() {
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig unordered = DiffConfigBuilder
+            .forClass(ComplexElement.class)
+            .mapping()
+            .fields()
+            .map("objectElementList", new UnorderedComparator<>())
+            .build();
+        DiffConfig ordered = DiffConfigBuilder.forClass(ComplexElement.class).mapping().fields().map("objectElementList").build();
+
+        ComplexElement expected = new ComplexElement(Arrays.asList(new ObjectElement("1"), new ObjectElement("2")));
+        ComplexElement current = new ComplexElement(Arrays.asList(new ObjectElement("2"), new ObjectElement("1")));
+
+        Assertions.assertEquals(diffObjects.hash(expected, unordered), diffObjects.hash(current, unordered));
+        Assertions.assertNotEquals(diffObjects.hash(expected, ordered), diffObjects.hash(current, ordered));
+    }
+
+    @Test
+    void testHashOfImmutableObjectMustBeCachedByInstance() {
+        DiffObjects<ImmutableElement> diffObjects = DiffObjects.forClass(ImmutableElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ImmutableElement.class).mapping().fields().map("name").build();
+        ImmutableElement element = new ImmutableElement("A", null);
+        long hash = diffObjects.hash(element, config);
+
+        element.setName("B");
+
+        Assertions.assertEquals(hash, diffObjects.hash(element, config));
+        Assertions.assertNotEquals(hash, diffObjects.hash(new ImmutableElement("B", null), config));
+    }
+
+    @Test
+    void testHashOfDeepMappingMustHashTheGraph() {
+        DiffObjects<ImmutableElement> diffObjects = DiffObjects.forClass(ImmutableElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ImmutableElement.class).mapping().fields().deep("child").build();
+
+        ImmutableElement expected = new ImmutableElement("Root", new ImmutableElement("A", new ImmutableElement("B", null)));
+        ImmutableElement equal = new ImmutableElement("Root", new ImmutableElement("A", new ImmutableElement("B", null)));
+        ImmutableElement different = new ImmutableElement("Root", new ImmutableElement("A", new ImmutableElement("C", null)));
+
+        Assertions.assertEquals(diffObjects.hash(expected, config), diffObjects.hash(equal, config));
+        Assertions.assertNotEquals(diffObjects.hash(expected, config), diffObjects.hash(different, config));
+    }
+
+    @Test
+    void testHashOfDeepMappingMustHashSharedAndSeparateInstancesEqually() {
+        DiffObjects<GraphElement> diffObjects = DiffObjects.forClass(GraphElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next").build();
+        ObjectElement element = new ObjectElement("Element");
+
+        Assertions.assertEquals(
+            diffObjects.hash(chain(new ObjectElement("Element"), new ObjectElement("Element")), config),
+            diffObjects.hash(chain(element, element), config));
+    }
+
+    private static GraphElement chain(ObjectElement first, ObjectElement second) {
+        GraphElement root = new GraphElement("Root", null);
+        GraphElement next = new GraphElement("A", first);
+
+        root.setNext(next);
+        next.setNext(new GraphElement("B", second));
+
+        return root;
+    }
+
+    @Test
+    void testHashMustNotCollideForValuesWithTheSameHashCode() {
+        DiffObjects<ImmutableAmountElement> diffObjects = DiffObjects.forClass(ImmutableAmountElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ImmutableAmountElement.class).mapping().fields().map("amount").map("amounts").build();
+
+        // Long.hashCode of 0 and -1 is 0 for both, and the same for the lists of them
+        Assertions.assertNotEquals(
+            diffObjects.hash(new ImmutableAmountElement(0L, Arrays.asList(1L), null), config),
+            diffObjects.hash(new ImmutableAmountElement(-1L, Arrays.asList(1L), null), config));
+        Assertions.assertNotEquals(
+            diffObjects.hash(new ImmutableAmountElement(1L, Arrays.asList(0L), null), config),
+            diffObjects.hash(new ImmutableAmountElement(1L, Arrays.asList(-1L), null), config));
+    }
+
+    @Test
+    void testDeepEqualityMustWalkImmutableSubtreesWithValuesWithTheSameHashCode() {
+        DiffObjects<ImmutableAmountElement> diffObjects = DiffObjects.forClass(ImmutableAmountElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ImmutableAmountElement.class).mapping().fields().deep("child").build();
+
+        ImmutableAmountElement expected = new ImmutableAmountElement(1L, null, new ImmutableAmountElement(0L, Arrays.asList(0L), null));
+        ImmutableAmountElement amount = new ImmutableAmountElement(1L, null, new ImmutableAmountElement(-1L, Arrays.asList(0L), null));
+        ImmutableAmountElement amounts = new ImmutableAmountElement(1L, null, new ImmutableAmountElement(0L, Arrays.asList(-1L), null));
+
+        Assertions.assertFalse(diffObjects.isEquals(expected, amount, config));
+        Assertions.assertEquals(1, diffObjects.diffChanges(expected, amount, config).size());
+        Assertions.assertFalse(diffObjects.isEquals(expected, amounts, config));
+        Assertions.assertEquals(1, diffObjects.diffChanges(expected, amounts, config).size());
+    }
+
+    @Test
+    void testDeepEqualityMustSkipImmutableSubtreesWithTheSameHash() {
+        DiffObjects<ImmutableElement> diffObjects = DiffObjects.forClass(ImmutableElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ImmutableElement.class).mapping().fields().deep("child").build();
+
+        ImmutableElement leaf = new ImmutableElement("B", null);
+        ImmutableElement expected = new ImmutableElement("Root", new ImmutableElement("A", new ImmutableElement("B", null)));
+        ImmutableElement current = new ImmutableElement("Root", new ImmutableElement("A", leaf));
+
+        Assertions.assertTrue(diffObjects.isEquals(expected, current, config));
+
+        // the hash of the subtree is cached, so the change is not walked by the equality check
+        leaf.setName("C");
+
+        Assertions.assertTrue(diffObjects.isEquals(expected, current, config));
+        Assertions.assertFalse(diffObjects.diff(expected, current, config).stream().allMatch(DiffResult::isEquals));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import org.junit.jupiter.api.Test;
+
+import static com.github.jonpereiradev.diffobjects.DiffAllocations.assertNoAllocation;
+
+
+class DiffObjectsIsEqualsAllocationTest {
+
+    @Test
+    void testIsEqualsWithSingleFieldsMustNotAllocate() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        ObjectElement2 objectA = new ObjectElement2("Object", "name");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name");
+
+        assertNoAllocation(() -> diffObjects.isEquals(objectA, objectB));
+    }
+
+    @Test
+    void testIsEqualsWithNestedAndCollectionFieldsMustNotAllocate() {
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        ComplexElement complexA = new ComplexElement(new ObjectElement("Object"));
+        ComplexElement complexB = new ComplexElement(new ObjectElement("Object"));
+
+        complexA.getObjectElementList().add(new ObjectElement("Object A"));
+        complexB.getObjectElementList().add(new ObjectElement("Object A"));
+        complexA.getObjectElementListByName().add(new ObjectElement("Object B"));
+        complexB.getObjectElementListByName().add(new ObjectElement("Object B"));
+
+        assertNoAllocation(() -> diffObjects.isEquals(complexA, complexB));
+    }
+
+}
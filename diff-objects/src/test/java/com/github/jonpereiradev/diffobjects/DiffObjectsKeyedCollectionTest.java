@@ -0,0 +1,136 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffObjectsKeyedCollectionTest {
+
+    private final DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+
+    @Test
+    void testDiffObjectsCollectionWithNullKeyMustThrowNullPointerException() {
+        Collection<ObjectElement2> a = new ArrayList<>();
+        Collection<ObjectElement2> b = new ArrayList<>();
+        DiffKey<ObjectElement2, String> key = null;
+
+        assertThrows(NullPointerException.class, () -> diffObjects.diff(a, b, key));
+        assertThrows(NullPointerException.class, () -> diffObjects.isEquals(a, b, key));
+    }
+
+    @Test
+    void testDiffObjectsCollectionByKeyMustReturnSameResultsAsMatcher() {
+        Collection<ObjectElement2> a = Arrays.asList(
+            new ObjectElement2("Object", null),
+            new ObjectElement2("Object 2", "parent1"),
+            new ObjectElement2("Object 3", null));
+
+        Collection<ObjectElement2> b = Arrays.asList(
+            new ObjectElement2("Object 4", null),
+            new ObjectElement2("Object 2", "parent2"),
+            new ObjectElement2("Object", null),
+            new ObjectElement2("Object 4", "parent4"));
+
+        DiffResults expected = diffObjects.diff(a, b, (o1, o2) -> o1.getName().equals(o2.getName()));
+        DiffResults results = diffObjects.diff(a, b, ObjectElement2::getName);
+
+        Assertions.assertEquals(expected.size(), results.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            DiffResult expectedResult = expected.getResults().get(i);
+            DiffResult result = results.getResults().get(i);
+
+            Assertions.assertSame(expectedResult.getExpected(), result.getExpected());
+            Assertions.assertSame(expectedResult.getCurrent(), result.getCurrent());
+            Assertions.assertEquals(expectedResult.isEquals(), result.isEquals());
+        }
+    }
+
+    @Test
+    void testDiffObjectsCollectionByKeyMustReturnMissingAndAddedElements() {
+        ObjectElement2 objectA = new ObjectElement2("Object", null);
+        ObjectElement2 objectB = new ObjectElement2("Object 2", null);
+        ObjectElement2 objectC = new ObjectElement2("Object", null);
+        ObjectElement2 objectD = new ObjectElement2("Object 3", null);
+
+        DiffResults results = diffObjects.diff(Arrays.asList(objectA, objectB), Arrays.asList(objectC, objectD), ObjectElement2::getName);
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertTrue(results.getResults().get(0).isEquals());
+        Assertions.assertSame(objectB, results.getResults().get(1).getExpected());
+        Assertions.assertNull(results.getResults().get(1).getCurrent());
+        Assertions.assertNull(results.getResults().get(2).getExpected());
+        Assertions.assertSame(objectD, results.getResults().get(2).getCurrent());
+    }
+
+    @Test
+    void testIsEqualsCollectionByKey() {
+        List<ObjectElement2> a = Arrays.asList(new ObjectElement2("Object", null), new ObjectElement2("Object 2", "parent"));
+        List<ObjectElement2> b = Arrays.asList(new ObjectElement2("Object 2", "parent"), new ObjectElement2("Object", null));
+        List<ObjectElement2> changed = Arrays.asList(new ObjectElement2("Object 2", "parent2"), new ObjectElement2("Object", null));
+        List<ObjectElement2> added = new ArrayList<>(b);
+
+        added.add(new ObjectElement2("Object 3", null));
+
+        Assertions.assertTrue(diffObjects.isEquals(a, b, ObjectElement2::getName));
+        Assertions.assertFalse(diffObjects.isEquals(a, changed, ObjectElement2::getName));
+        Assertions.assertFalse(diffObjects.isEquals(a, added, ObjectElement2::getName));
+        Assertions.assertFalse(diffObjects.isEquals(added, a, ObjectElement2::getName));
+    }
+
+    @Test
+    void testDiffObjectsCollectionByKeyInParallelMustReturnSameResultsAsSerial() {
+        List<ObjectElement2> a = new ArrayList<>();
+        List<ObjectElement2> b = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            a.add(new ObjectElement2("Object " + i, "parent"));
+
+            if (i % 7 != 0) {
+                b.add(new ObjectElement2("Object " + i, i % 5 == 0 ? "changed" : "parent"));
+            }
+        }
+
+        for (int i = 1000; i < 1100; i++) {
+            b.add(new ObjectElement2("Object " + i, "parent"));
+        }
+
+        Collections.shuffle(b, new Random(1));
+
+        DiffConfig config = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().fields().map("name2").build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            DiffResults expected = diffObjects.diff(a, b, config, ObjectElement2::getName);
+            DiffResults results = diffObjects.diff(a, b, config, ObjectElement2::getName, executor);
+
+            Assertions.assertEquals(expected.size(), results.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                DiffResult expectedResult = expected.getResults().get(i);
+                DiffResult result = results.getResults().get(i);
+
+                Assertions.assertSame(expectedResult.getExpected(), result.getExpected());
+                Assertions.assertSame(expectedResult.getCurrent(), result.getCurrent());
+                Assertions.assertEquals(expectedResult.isEquals(), result.isEquals());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.DiffComparator;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffObjectsLazyTest {
+
+    private final AtomicInteger comparisons = new AtomicInteger();
+
+    private DiffObjects<ObjectElement2> diffObjects;
+    private DiffConfig configuration;
+
+    @BeforeEach
+    void beforeEach() {
+        DiffComparator<String> comparator = (expected, current) -> {
+            comparisons.incrementAndGet();
+            return Objects.equals(expected, current);
+        };
+
+        diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        configuration = DiffConfigBuilder
+            .forClass(ObjectElement2.class)
+            .mapping()
+            .fields()
+            .map("name", comparator)
+            .map("name2", comparator)
+            .build();
+    }
+
+    @Test
+    void testDiffLazyWithNullConfigurationMustThrowNullPointerException() {
+        ObjectElement2 object = new ObjectElement2("Object", "name");
+        assertThrows(NullPointerException.class, () -> diffObjects.diffLazy(object, object, null));
+    }
+
+    @Test
+    void testDiffLazyMustNotEvaluateFieldsUntilRead() {
+        DiffResults results = diffObjects.diffLazy(new ObjectElement2("A", "A"), new ObjectElement2("B", "B"), configuration);
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertFalse(results.isEmpty());
+        Assertions.assertEquals(0, comparisons.get());
+    }
+
+    @Test
+    void testDiffLazyStreamMustStopOnFirstDifference() {
+        DiffResults results = diffObjects.diffLazy(new ObjectElement2("A", "A"), new ObjectElement2("B", "B"), configuration);
+
+        Assertions.assertTrue(results.stream().anyMatch(result -> !result.isEquals()));
+        Assertions.assertEquals(1, comparisons.get());
+    }
+
+    @Test
+    void testDiffLazyMustCacheEvaluatedResults() {
+        ObjectElement2 expected = new ObjectElement2("A", "A");
+        DiffResults results = diffObjects.diffLazy(expected, new ObjectElement2("A", "B"), configuration);
+        Iterator<DiffResult> iterator = results.iterator();
+        DiffResult first = iterator.next();
+
+        Assertions.assertTrue(first.isEquals());
+        Assertions.assertSame(first, results.iterator().next());
+        Assertions.assertEquals(1, comparisons.get());
+
+        Assertions.assertEquals(2, results.getResults().size());
+        Assertions.assertFalse(results.getResults().get(1).isEquals());
+        Assertions.assertEquals(2, comparisons.get());
+    }
+
+    @Test
+    void testDiffLazyMustReturnSameResultsAsDiff() {
+        ObjectElement2 expected = new ObjectElement2("A", "A");
+        ObjectElement2 current = new ObjectElement2("A", "B");
+        DiffResults eager = diffObjects.diff(expected, current, configuration);
+        DiffResults lazy = diffObjects.diffLazy(expected, current, configuration);
+
+        Assertions.assertEquals(eager.size(), lazy.size());
+
+        for (int i = 0; i < eager.size(); i++) {
+            DiffResult eagerResult = eager.getResults().get(i);
+            DiffResult lazyResult = lazy.getResults().get(i);
+
+            Assertions.assertEquals(eagerResult.isEquals(), lazyResult.isEquals());
+            Assertions.assertEquals(eagerResult.getExpected(), lazyResult.getExpected());
+            Assertions.assertEquals(eagerResult.getCurrent(), lazyResult.getCurrent());
+        }
+    }
+
+    @Test
+    void testDiffLazyWithAnnotationsMustEvaluateAllFields() {
+        DiffResults results = diffObjects.diffLazy(new ObjectElement2("A", "A"), new ObjectElement2("A", "B"));
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(1, results.stream().filter(result -> !result.isEquals()).count());
+    }
+
+}
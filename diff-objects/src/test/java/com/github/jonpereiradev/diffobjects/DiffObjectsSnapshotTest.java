@@ -0,0 +1,140 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
+import com.github.jonpereiradev.diffobjects.model.GraphElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffObjectsSnapshotTest {
+
+    @Test
+    void testSnapshotWithNullObjectMustThrowNullPointerException() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        assertThrows(NullPointerException.class, () -> diffObjects.snapshot(null));
+    }
+
+    @Test
+    void testIsDirtyWithNullSnapshotMustThrowNullPointerException() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        assertThrows(NullPointerException.class, () -> diffObjects.isDirty(null, new ObjectElement2("A", "B")));
+    }
+
+    @Test
+    void testSnapshotWithAnnotationsMustNotBeDirtyForEqualState() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffSnapshot snapshot = diffObjects.snapshot(new ObjectElement2("A", "B"));
+
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, new ObjectElement2("A", "B")));
+        Assertions.assertTrue(diffObjects.isDirty(snapshot, new ObjectElement2("B", "B")));
+    }
+
+    @Test
+    void testSnapshotMustCaptureValuesInPlanOrder() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().fields().map("name2").map("name").build();
+        DiffSnapshot snapshot = diffObjects.snapshot(new ObjectElement2("A", "B"), config);
+
+        Assertions.assertEquals(2, snapshot.size());
+        Assertions.assertEquals("B", snapshot.getValue(0));
+        Assertions.assertEquals("A", snapshot.getValue(1));
+        Assertions.assertSame(config.getPlan(), snapshot.getPlan());
+    }
+
+    @Test
+    void testDiffSnapshotMustCompareTheSnapshotWithTheCurrentState() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().fields().map("name").map("name2").build();
+        DiffSnapshot snapshot = diffObjects.snapshot(new ObjectElement2("A", "B"), config);
+
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, new ObjectElement2("A", "B")));
+        Assertions.assertTrue(diffObjects.isDirty(snapshot, new ObjectElement2("A", "C")));
+
+        DiffResults results = diffObjects.diffSnapshot(snapshot, new ObjectElement2("A", "C"));
+        DiffResult name = results.getResults().get(0);
+        DiffResult name2 = results.getResults().get(1);
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertTrue(name.isEquals());
+        Assertions.assertFalse(name2.isEquals());
+        Assertions.assertEquals("B", name2.getExpected());
+        Assertions.assertEquals("C", name2.getCurrent());
+    }
+
+    @Test
+    void testSnapshotMustNotSeeElementsAddedToTheCollectionLater() {
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ComplexElement.class).mapping().fields().map("objectElementList").build();
+        List<ObjectElement> elements = new ArrayList<>();
+        ComplexElement element = new ComplexElement(elements);
+
+        elements.add(new ObjectElement("A"));
+
+        DiffSnapshot snapshot = diffObjects.snapshot(element, config);
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, element));
+
+        elements.add(new ObjectElement("B"));
+
+        Assertions.assertTrue(diffObjects.isDirty(snapshot, element));
+        Assertions.assertFalse(diffObjects.diffSnapshot(snapshot, element).getResults().get(0).isEquals());
+    }
+
+    @Test
+    void testSnapshotOfDeepMappingMustCompareTheLeavesOfTheGraph() {
+        DiffObjects<GraphElement> diffObjects = DiffObjects.forClass(GraphElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next").build();
+        GraphElement root = new GraphElement("Root", new ObjectElement("Root"));
+
+        root.setNext(new GraphElement("Next", new ObjectElement("A")));
+
+        DiffSnapshot snapshot = diffObjects.snapshot(root, config);
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, root));
+
+        root.getNext().setNext(new GraphElement("Added", new ObjectElement("B")));
+
+        Assertions.assertTrue(diffObjects.isDirty(snapshot, root));
+        Assertions.assertTrue(diffObjects.diffSnapshot(snapshot, root).stream()
+            .filter(result -> !result.isEquals())
+            .anyMatch(result -> result.getField().equals("next.next.name")));
+    }
+
+    @Test
+    void testSnapshotOfDeepMappingMustCopyTheCollectionLeaves() {
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ComplexElement.class).mapping().fields().deep("objectElementList").build();
+        List<ObjectElement> elements = new ArrayList<>();
+        ComplexElement element = new ComplexElement(elements);
+
+        elements.add(new ObjectElement("A"));
+
+        DiffSnapshot snapshot = diffObjects.snapshot(element, config);
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, element));
+
+        elements.add(new ObjectElement("B"));
+
+        Assertions.assertTrue(diffObjects.isDirty(snapshot, element));
+    }
+
+    @Test
+    void testSnapshotOfMutableValueMustCompareTheCapturedInstance() {
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig config = DiffConfigBuilder.forClass(ComplexElement.class).mapping().fields().map("objectElement").build();
+        ComplexElement element = new ComplexElement(new ObjectElement("A"));
+
+        DiffSnapshot snapshot = diffObjects.snapshot(element, config);
+
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, element));
+        Assertions.assertFalse(diffObjects.isDirty(snapshot, new ComplexElement(new ObjectElement("A"))));
+        Assertions.assertTrue(diffObjects.isDirty(snapshot, new ComplexElement(new ObjectElement("B"))));
+    }
+
+}
@@ -209,4 +209,19 @@ class DiffObjectsWithAnnotationsTest {
 
         Assertions.assertFalse(diffObjects.isEquals(a, b, (o1, o2) -> o1.getName().equals(o2.getName())));
     }
+
+    @Test
+    void testDiffChangesMustReturnOnlyDifferentFields() {
+        ObjectElement2 objectA = new ObjectElement2("Object", "name A");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name B");
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+
+        DiffResults results = diffObjects.diffChanges(objectA, objectB);
+
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertFalse(results.getResults().get(0).isEquals());
+        Assertions.assertEquals("name A", results.getResults().get(0).getExpected());
+        Assertions.assertEquals("name B", results.getResults().get(0).getCurrent());
+        Assertions.assertTrue(diffObjects.diffChanges(objectA, objectA).isEmpty());
+    }
 }
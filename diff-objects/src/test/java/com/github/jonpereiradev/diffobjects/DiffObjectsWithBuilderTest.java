@@ -2,6 +2,7 @@ package com.github.jonpereiradev.diffobjects;
 
 
 import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
 import com.github.jonpereiradev.diffobjects.model.ObjectElement;
 import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
 import org.junit.jupiter.api.Assertions;
@@ -9,9 +10,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 
+import static com.github.jonpereiradev.diffobjects.DiffAllocations.assertNoAllocation;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
@@ -181,4 +187,118 @@ class DiffObjectsWithBuilderTest {
 
         Assertions.assertFalse(diffObjects.isEquals(objectA, objectB, configuration));
     }
+
+    @Test
+    void testDiffObjectsWithCollectionMappedByIndexMustCompareByPosition() {
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig configuration = DiffConfigBuilder.forClass(ComplexElement.class).mapping().fields().map("objectElementList").build();
+
+        ComplexElement arrayA = new ComplexElement(new ArrayList<>(Arrays.asList(new ObjectElement("A"), new ObjectElement("B"))));
+        ComplexElement arrayB = new ComplexElement(new ArrayList<>(Arrays.asList(new ObjectElement("A"), new ObjectElement("B"))));
+        ComplexElement linkedA = new ComplexElement(new LinkedList<>(Arrays.asList(new ObjectElement("A"), new ObjectElement("B"))));
+        ComplexElement linkedB = new ComplexElement(new LinkedList<>(Arrays.asList(new ObjectElement("B"), new ObjectElement("A"))));
+
+        Assertions.assertTrue(diffObjects.isEquals(arrayA, arrayB, configuration));
+        Assertions.assertTrue(diffObjects.isEquals(arrayA, linkedA, configuration));
+        Assertions.assertFalse(diffObjects.isEquals(linkedA, linkedB, configuration));
+        Assertions.assertFalse(diffObjects.isEquals(arrayB, linkedB, configuration));
+        Assertions.assertFalse(diffObjects.diff(arrayA, linkedB, configuration).getResults().get(0).isEquals());
+    }
+
+    @Test
+    void testDiffChangesWithConfigMustReturnOnlyDifferentFields() {
+        ComplexElement complexA = new ComplexElement(new ObjectElement("Object A"));
+        ComplexElement complexB = new ComplexElement(new ObjectElement("Object B"));
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig configuration = DiffConfigBuilder.forClass(ComplexElement.class)
+            .mapping()
+            .fields()
+            .map("objectElement.name")
+            .map("objectElementList")
+            .build();
+
+        DiffResults results = diffObjects.diffChanges(complexA, complexB, configuration);
+
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertEquals("Object A", results.getResults().get(0).getExpected());
+        Assertions.assertEquals("objectElement.name", results.getResults().get(0).getField());
+    }
+
+    @Test
+    void testDiffWithListenerMustNotifyOnlyDifferentFields() {
+        ComplexElement complexA = new ComplexElement(new ObjectElement("Object A"));
+        ComplexElement complexB = new ComplexElement(new ObjectElement("Object B"));
+        DiffObjects<ComplexElement> diffObjects = DiffObjects.forClass(ComplexElement.class);
+        DiffConfig configuration = DiffConfigBuilder.forClass(ComplexElement.class)
+            .mapping()
+            .fields()
+            .map("objectElement.name")
+            .map("objectElementList")
+            .build();
+        List<String> fields = new ArrayList<>();
+
+        boolean equals = diffObjects.diff(complexA, complexB, configuration, (field, expected, current, properties) -> {
+            Assertions.assertEquals("Object A", expected);
+            Assertions.assertEquals("Object B", current);
+            Assertions.assertEquals(field, properties.get("field"));
+            return fields.add(field);
+        });
+
+        Assertions.assertFalse(equals);
+        Assertions.assertEquals(Collections.singletonList("objectElement.name"), fields);
+        Assertions.assertTrue(diffObjects.diff(complexA, complexA, configuration, (field, expected, current, properties) -> {
+            throw new AssertionError("No difference expected");
+        }));
+    }
+
+    @Test
+    void testDiffWithListenerMustStopWhenListenerReturnsFalse() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffConfig configuration = DiffConfigBuilder.forClass(ObjectElement2.class)
+            .mapping()
+            .fields()
+            .map("name")
+            .map("name2")
+            .build();
+        List<String> fields = new ArrayList<>();
+
+        boolean equals = diffObjects.diff(new ObjectElement2("A", "A"), new ObjectElement2("B", "B"), configuration, (field, expected, current, properties) -> {
+            fields.add(field);
+            return false;
+        });
+
+        Assertions.assertFalse(equals);
+        Assertions.assertEquals(Collections.singletonList("name"), fields);
+    }
+
+    @Test
+    void testChangeMaskMustSetBitsOfDifferentFieldsInPlanOrder() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffConfig configuration = DiffConfigBuilder.forClass(ObjectElement2.class)
+            .mapping()
+            .fields()
+            .map("name")
+            .map("name2")
+            .build();
+        ObjectElement2 expected = new ObjectElement2("A", "A");
+
+        long mask = diffObjects.changeMask(expected, new ObjectElement2("A", "B"), configuration);
+        BitSet changes = diffObjects.changeSet(expected, new ObjectElement2("A", "B"), configuration);
+
+        Assertions.assertEquals(0L, diffObjects.changeMask(expected, new ObjectElement2("A", "A"), configuration));
+        Assertions.assertEquals(0b10L, mask);
+        Assertions.assertEquals(BitSet.valueOf(new long[]{mask}), changes);
+        Assertions.assertEquals("name2", configuration.getPlan().getField(Long.numberOfTrailingZeros(mask)));
+        Assertions.assertEquals(0b11L, diffObjects.changeMask(expected, new ObjectElement2("B", "B"), configuration));
+    }
+
+    @Test
+    void testChangeMaskMustNotAllocate() {
+        DiffObjects<ObjectElement2> diffObjects = DiffObjects.forClass(ObjectElement2.class);
+        DiffConfig configuration = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().annotations().build();
+        ObjectElement2 objectA = new ObjectElement2("Object", "name");
+        ObjectElement2 objectB = new ObjectElement2("Object", "other");
+
+        assertNoAllocation(() -> diffObjects.changeMask(objectA, objectB, configuration) != 0L);
+    }
 }
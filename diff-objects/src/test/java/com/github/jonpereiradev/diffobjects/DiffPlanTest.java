@@ -0,0 +1,129 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsComparator;
+import com.github.jonpereiradev.diffobjects.model.ComplexElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement2;
+import com.github.jonpereiradev.diffobjects.strategy.DiffMetadata;
+import com.github.jonpereiradev.diffobjects.strategy.DiffStrategy;
+import com.github.jonpereiradev.diffobjects.strategy.DiffStrategyType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.jonpereiradev.diffobjects.DiffAllocations.assertNoAllocation;
+
+
+class DiffPlanTest {
+
+    @Test
+    void testPlanDiffMustReturnSameResultsAsStrategies() {
+        DiffConfig config = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().annotations().build();
+        ObjectElement2 objectA = new ObjectElement2("Object", "name A");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name B");
+
+        assertSameResults(strategyResults(config, objectA, objectB), config.getPlan().diff(objectA, objectB));
+    }
+
+    @Test
+    void testPlanDiffMustReturnSameResultsForNestedAndCollectionFields() {
+        DiffConfig config = DiffConfigBuilder.forClass(ComplexElement.class).mapping().annotations().build();
+        ComplexElement complexA = new ComplexElement(new ObjectElement("Object A"));
+        ComplexElement complexB = new ComplexElement(new ObjectElement("Object B"));
+
+        complexA.getObjectElementList().add(new ObjectElement("Object"));
+        complexB.getObjectElementList().add(new ObjectElement("Object"));
+
+        assertSameResults(strategyResults(config, complexA, complexB), config.getPlan().diff(complexA, complexB));
+    }
+
+    @Test
+    void testPlanDiffWithConfigMustReturnSameResultsAsStrategies() {
+        DiffConfig config = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().fields().map("name2").build();
+        ObjectElement2 objectA = new ObjectElement2("Object", "name A");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name B");
+
+        assertSameResults(strategyResults(config, objectA, objectB), DiffObjects.forClass(ObjectElement2.class).diff(objectA, objectB, config));
+    }
+
+    @Test
+    void testPlanIsEqualsMustCheckAllFields() {
+        DiffPlan plan = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().annotations().build().getPlan();
+
+        Assertions.assertTrue(plan.isEquals(new ObjectElement2("Object", "name"), new ObjectElement2("Object", "name")));
+        Assertions.assertFalse(plan.isEquals(new ObjectElement2("Object", "name A"), new ObjectElement2("Object", "name B")));
+    }
+
+    @Test
+    void testPlanOfConfigWithoutOwnPlanMustBeCreatedOnce() {
+        List<DiffMetadata> metadata = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().annotations().build().build();
+        DiffConfig config = () -> metadata;
+        ObjectElement2 objectA = new ObjectElement2("Object", "name A");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name B");
+
+        Assertions.assertSame(config.getPlan(), config.getPlan());
+        Assertions.assertEquals(metadata, config.getPlan().getMetadata());
+        Assertions.assertFalse(DiffObjects.forClass(ObjectElement2.class).isEquals(objectA, objectB, config));
+    }
+
+    @Test
+    void testPlanDiffChangesMustCompareEachStrategyFieldOnce() throws NoSuchMethodException {
+        AtomicInteger diffs = new AtomicInteger();
+        DiffStrategy strategy = (expected, current, metadata) -> {
+            diffs.incrementAndGet();
+            return DiffStrategyType.SINGLE.getStrategy().diff(expected, current, metadata);
+        };
+        DiffMetadata metadata = new DiffMetadata(
+            "", ObjectElement2.class.getMethod("getName2"), strategy, new EqualsComparator<>());
+        DiffPlan plan = DiffPlan.of(Collections.singletonList(metadata));
+
+        DiffResults results = plan.diffChanges(new ObjectElement2("Object", "name A"), new ObjectElement2("Object", "name B"));
+
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertEquals("name A", results.getResults().get(0).getExpected());
+        Assertions.assertEquals(1, diffs.get());
+    }
+
+    @Test
+    void testPlanDiffChangesWithoutDifferencesMustNotAllocate() {
+        DiffPlan plan = DiffConfigBuilder.forClass(ObjectElement2.class).mapping().annotations().build().getPlan();
+        ObjectElement2 objectA = new ObjectElement2("Object", "name");
+        ObjectElement2 objectB = new ObjectElement2("Object", "name");
+
+        assertNoAllocation(() -> plan.diffChanges(objectA, objectB).isEmpty());
+    }
+
+    /**
+     * Executes the strategy of each field, without the inline comparison of the plan.
+     */
+    private static DiffResults strategyResults(DiffConfig config, Object expected, Object current) {
+        List<DiffResult> results = new ArrayList<>();
+
+        for (DiffMetadata metadata : config.build()) {
+            metadata.getStrategy().diff(expected, current, metadata, results::add);
+        }
+
+        return new DiffResultsImpl(results);
+    }
+
+    private static void assertSameResults(DiffResults expected, DiffResults results) {
+        Assertions.assertEquals(expected.size(), results.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            DiffResult expectedResult = expected.getResults().get(i);
+            DiffResult result = results.getResults().get(i);
+
+            Assertions.assertEquals(expectedResult.getField(), result.getField());
+            Assertions.assertEquals(expectedResult.getExpected(), result.getExpected());
+            Assertions.assertEquals(expectedResult.getCurrent(), result.getCurrent());
+            Assertions.assertEquals(expectedResult.isEquals(), result.isEquals());
+        }
+    }
+
+}
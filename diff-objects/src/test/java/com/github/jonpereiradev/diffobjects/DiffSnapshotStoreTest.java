@@ -0,0 +1,235 @@
+package com.github.jonpereiradev.diffobjects;
+
+
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.comparator.EqualsIgnoreCaseComparator;
+import com.github.jonpereiradev.diffobjects.model.RecordElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffSnapshotStoreTest {
+
+    private final DiffConfig config = DiffConfigBuilder
+        .forClass(RecordElement.class)
+        .mapping()
+        .fields()
+        .map("id")
+        .map("price")
+        .map("active")
+        .map("name")
+        .map("tags")
+        .build();
+
+    @Test
+    void testForConfigWithInvalidCapacityMustThrowDiffException() {
+        assertThrows(DiffException.class, () -> DiffSnapshotStore.forConfig(config, 0));
+    }
+
+    @Test
+    void testIsDirtyWithUnknownIdMustThrowDiffException() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config);
+        assertThrows(DiffException.class, () -> store.isDirty(0, new RecordElement(1, 1.0, true, "A")));
+    }
+
+    @Test
+    void testIsDirtyMustBeFalseForUnchangedObject() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config);
+        RecordElement element = new RecordElement(1, 9.99, true, "A");
+        RecordElement copy = new RecordElement(1, 9.99, true, "A");
+
+        element.getTags().add("new");
+        copy.getTags().add("new");
+
+        Assertions.assertFalse(store.isDirty(store.track(element), element));
+        Assertions.assertFalse(store.isDirty(0, copy));
+    }
+
+    @Test
+    void testChangeSetMustHaveTheBitOfEachChangedField() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config);
+        RecordElement element = new RecordElement(1, 9.99, true, "A");
+        int id = store.track(element);
+
+        element.setPrice(10.99);
+        element.setName("B");
+        element.getTags().add("new");
+
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(3);
+        expected.set(4);
+
+        Assertions.assertTrue(store.isDirty(id, element));
+        Assertions.assertEquals(expected, store.changeSet(id, element));
+    }
+
+    @Test
+    void testUpdateMustReplaceTheRecord() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config);
+        RecordElement element = new RecordElement(1, 9.99, true, "A");
+        int id = store.track(element);
+
+        element.setActive(false);
+        Assertions.assertTrue(store.isDirty(id, element));
+
+        store.update(id, element);
+        Assertions.assertFalse(store.isDirty(id, element));
+    }
+
+    @Test
+    void testIsDirtyMustUseTheComparatorOfStringFields() {
+        DiffConfig ignoreCase = DiffConfigBuilder
+            .forClass(RecordElement.class)
+            .mapping()
+            .fields()
+            .map("name", new EqualsIgnoreCaseComparator())
+            .build();
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(ignoreCase);
+        int id = store.track(new RecordElement(1, 1.0, true, "Name"));
+
+        Assertions.assertFalse(store.isDirty(id, new RecordElement(1, 1.0, true, "NAME")));
+        Assertions.assertTrue(store.isDirty(id, new RecordElement(1, 1.0, true, null)));
+    }
+
+    @Test
+    void testTrackMustGrowTheStoreKeepingTheRecords() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config, 1);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, store.track(new RecordElement(i, i, i % 2 == 0, "Name " + i % 3)));
+        }
+
+        Assertions.assertEquals(100, store.size());
+        Assertions.assertTrue(store.getOffHeapSize() >= 100L * 5 * DiffRecordLayout.SLOT_SIZE);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertFalse(store.isDirty(i, new RecordElement(i, i, i % 2 == 0, "Name " + i % 3)));
+            Assertions.assertTrue(store.isDirty(i, new RecordElement(i + 1, i, i % 2 == 0, "Name " + i % 3)));
+        }
+    }
+
+    @Test
+    void testForConfigWithCustomComparatorOnHashedFieldMustThrowDiffException() {
+        DiffConfig ignoreCase = DiffConfigBuilder
+            .forClass(RecordElement.class)
+            .mapping()
+            .fields()
+            .map("tags", new EqualsIgnoreCaseComparator())
+            .build();
+
+        assertThrows(DiffException.class, () -> DiffSnapshotStore.forConfig(ignoreCase));
+    }
+
+    @Test
+    void testUpdateMustRemoveTheStringsNoLongerReferenced() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config);
+        RecordElement element = new RecordElement(1, 1.0, true, "A");
+        int id = store.track(element);
+
+        store.track(new RecordElement(2, 1.0, true, "B"));
+
+        element.setName("B");
+        store.update(id, element);
+        Assertions.assertEquals(1, store.getStringCount());
+
+        element.setName("C");
+        store.update(id, element);
+        Assertions.assertEquals(2, store.getStringCount());
+        Assertions.assertFalse(store.isDirty(id, element));
+        Assertions.assertFalse(store.isDirty(1, new RecordElement(2, 1.0, true, "B")));
+    }
+
+    @Test
+    void testUpdateMustKeepTheRecordWhenAFieldFails() {
+        DiffConfig failing = DiffConfigBuilder.forClass(FailingElement.class).mapping().fields().map("name").map("value").build();
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(failing);
+        FailingElement element = new FailingElement("A");
+        int id = store.track(element);
+
+        element.name = "B";
+        element.failing = true;
+
+        assertThrows(DiffException.class, () -> store.update(id, element));
+
+        element.name = "A";
+        element.failing = false;
+
+        Assertions.assertFalse(store.isDirty(id, element));
+        Assertions.assertEquals(1, store.getStringCount());
+    }
+
+    @Test
+    void testIsDirtyMustCheckHashedValuesWithTheSameHashCode() {
+        DiffConfig amounts = DiffConfigBuilder.forClass(AmountsElement.class).mapping().fields().map("amounts").build();
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(amounts);
+        AmountsElement element = new AmountsElement();
+
+        element.amounts.add(0L);
+        int id = store.track(element);
+
+        // Long.hashCode of 0 and -1 is 0 for both, and the same for the lists of them
+        element.amounts.set(0, -1L);
+
+        Assertions.assertTrue(store.isDirty(id, element));
+    }
+
+    @Test
+    void testUntrackMustReleaseTheStringsAndReuseTheRecord() {
+        DiffSnapshotStore store = DiffSnapshotStore.forConfig(config);
+        int id = store.track(new RecordElement(1, 1.0, true, "A"));
+
+        store.track(new RecordElement(2, 1.0, true, "B"));
+        store.untrack(id);
+
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals(1, store.getStringCount());
+        assertThrows(DiffException.class, () -> store.isDirty(id, new RecordElement(1, 1.0, true, "A")));
+        assertThrows(DiffException.class, () -> store.untrack(id));
+
+        RecordElement element = new RecordElement(3, 1.0, true, "C");
+
+        Assertions.assertEquals(id, store.track(element));
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertFalse(store.isDirty(id, element));
+        Assertions.assertFalse(store.isDirty(1, new RecordElement(2, 1.0, true, "B")));
+    }
+
+    public static class AmountsElement {
+
+        private final List<Long> amounts = new ArrayList<>();
+
+        public List<Long> getAmounts() {
+            return amounts;
+        }
+    }
+
+    public static class FailingElement {
+
+        private String name;
+        private boolean failing;
+
+        FailingElement(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getValue() {
+            if (failing) {
+                throw new IllegalStateException();
+            }
+
+            return 1;
+        }
+    }
+
+}
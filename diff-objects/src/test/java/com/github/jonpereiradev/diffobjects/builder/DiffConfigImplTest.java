@@ -12,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DiffConfigImplTest {
@@ -55,6 +57,24 @@ class DiffConfigImplTest {
         assertEquals("value1", metadatas.get(1).getValue());
     }
 
+    @Test
+    void testMustFreezeMetadataWhenConfigIsCreated() throws NoSuchMethodException {
+        DiffBuilderContext<ObjectElement> context = new DiffBuilderContext<>(ObjectElement.class);
+        DiffMetadata o1 = new DiffMetadata("name", ObjectElement.class.getMethod("getName"), DiffStrategyType.SINGLE, new EqualsComparator<>());
+        DiffMetadata o2 = new DiffMetadata("parent", ObjectElement.class.getMethod("getParent"), DiffStrategyType.SINGLE, new EqualsComparator<>());
+
+        context.put(o1.getValue(), o1);
+
+        DiffConfig diffConfig = new DiffConfigImpl(context);
+
+        context.put(o2.getValue(), o2);
+
+        assertEquals(1, diffConfig.build().size());
+        assertEquals(1, diffConfig.getPlan().size());
+        assertSame(diffConfig.getPlan(), diffConfig.getPlan());
+        assertThrows(UnsupportedOperationException.class, () -> diffConfig.build().add(o2));
+    }
+
     private static class ObjectElementOrdered {
 
         private String value1;
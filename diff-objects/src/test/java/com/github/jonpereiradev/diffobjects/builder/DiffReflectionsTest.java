@@ -0,0 +1,116 @@
+package com.github.jonpereiradev.diffobjects.builder;
+
+import com.github.jonpereiradev.diffobjects.DiffException;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiffReflectionsTest {
+
+    @Test
+    void testAccessorMustReturnGetterValue() {
+        Method method = DiffReflections.discoverGetter(ObjectElement.class, "name");
+        DiffAccessor accessor = DiffReflections.getAccessor(method);
+
+        assertEquals("Object", accessor.get(new ObjectElement("Object")));
+    }
+
+    @Test
+    void testAccessorMustReturnInheritedGetterValue() {
+        Method method = DiffReflections.discoverGetter(ObjectElement.class, "parent");
+        ObjectElement element = new ObjectElement("Object");
+
+        element.setParent("Parent");
+
+        assertEquals("Parent", DiffReflections.getAccessor(method).get(element));
+    }
+
+    @Test
+    void testAccessorMustBoxPrimitiveValue() {
+        Method method = DiffReflections.discoverGetter(PrimitiveElement.class, "value");
+        DiffAccessor accessor = DiffReflections.getAccessor(method);
+
+        assertEquals(10, accessor.get(new PrimitiveElement(10)));
+    }
+
+    @Test
+    void testAccessorMustBeReusedForSameMethod() {
+        Method method = DiffReflections.discoverGetter(ObjectElement.class, "name");
+
+        assertSame(DiffReflections.getAccessor(method), DiffReflections.getAccessor(method));
+    }
+
+    @Test
+    void testInvokeWithAccessorMustReturnNullForNullInstance() {
+        Method method = DiffReflections.discoverGetter(ObjectElement.class, "name");
+
+        assertNull(DiffReflections.invoke(null, DiffReflections.getAccessor(method)));
+    }
+
+    @Test
+    void testAccessorMustWrapGetterExceptionInDiffException() {
+        Method method = DiffReflections.discoverGetter(FailingElement.class, "value");
+        DiffAccessor accessor = DiffReflections.getAccessor(method);
+
+        assertThrows(DiffException.class, () -> accessor.get(new FailingElement()));
+    }
+
+    @Test
+    void testDiscoverGetterMustCacheFoundAndMissingGetters() {
+        assertFalse(DiffReflections.isGetterCached(CachedElement.class, "value"));
+        assertFalse(DiffReflections.isGetterCached(CachedElement.class, "missing"));
+
+        Method method = DiffReflections.discoverGetter(CachedElement.class, "value");
+
+        assertThrows(DiffException.class, () -> DiffReflections.discoverGetter(CachedElement.class, "missing"));
+        assertTrue(DiffReflections.isGetterCached(CachedElement.class, "value"));
+        assertTrue(DiffReflections.isGetterCached(CachedElement.class, "missing"));
+        assertSame(method, DiffReflections.discoverGetter(CachedElement.class, "value"));
+        assertThrows(DiffException.class, () -> DiffReflections.discoverGetter(CachedElement.class, "missing"));
+    }
+
+    @Test
+    void testDiscoverAccessorMustReturnAccessorOfGetter() {
+        DiffAccessor accessor = DiffReflections.discoverAccessor(ObjectElement.class, "name");
+
+        assertEquals("Object", accessor.get(new ObjectElement("Object")));
+        assertSame(accessor, DiffReflections.discoverAccessor(ObjectElement.class, "name"));
+        assertSame(accessor, DiffReflections.getAccessor(DiffReflections.discoverGetter(ObjectElement.class, "name")));
+        assertThrows(DiffException.class, () -> DiffReflections.discoverAccessor(ObjectElement.class, "missing"));
+    }
+
+    private static class PrimitiveElement {
+
+        private final int value;
+
+        private PrimitiveElement(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private static class CachedElement {
+
+        public String getValue() {
+            return "value";
+        }
+    }
+
+    private static class FailingElement {
+
+        public String getValue() {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.jonpereiradev.diffobjects.model;
+
+
+public class GraphElement {
+
+    private final String name;
+    private final ObjectElement element;
+
+    private GraphElement next;
+
+    public GraphElement(String name, ObjectElement element) {
+        this.name = name;
+        this.element = element;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ObjectElement getElement() {
+        return element;
+    }
+
+    public GraphElement getNext() {
+        return next;
+    }
+
+    public void setNext(GraphElement next) {
+        this.next = next;
+    }
+}
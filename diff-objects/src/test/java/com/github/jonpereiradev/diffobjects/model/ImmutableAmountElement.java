@@ -0,0 +1,33 @@
+package com.github.jonpereiradev.diffobjects.model;
+
+
+import com.github.jonpereiradev.diffobjects.annotation.DiffImmutable;
+
+import java.util.List;
+
+
+@DiffImmutable
+public class ImmutableAmountElement {
+
+    private final Long amount;
+    private final List<Long> amounts;
+    private final ImmutableAmountElement child;
+
+    public ImmutableAmountElement(Long amount, List<Long> amounts, ImmutableAmountElement child) {
+        this.amount = amount;
+        this.amounts = amounts;
+        this.child = child;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+
+    public List<Long> getAmounts() {
+        return amounts;
+    }
+
+    public ImmutableAmountElement getChild() {
+        return child;
+    }
+}
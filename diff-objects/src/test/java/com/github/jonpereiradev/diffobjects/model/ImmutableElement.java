@@ -0,0 +1,31 @@
+package com.github.jonpereiradev.diffobjects.model;
+
+
+import com.github.jonpereiradev.diffobjects.annotation.DiffImmutable;
+
+
+@DiffImmutable
+public class ImmutableElement {
+
+    private final ImmutableElement child;
+
+    // not final only to check that the cached hashes are used, the annotation is a promise the class doesn't change
+    private String name;
+
+    public ImmutableElement(String name, ImmutableElement child) {
+        this.name = name;
+        this.child = child;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public ImmutableElement getChild() {
+        return child;
+    }
+}
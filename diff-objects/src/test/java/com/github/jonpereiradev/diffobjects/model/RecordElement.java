@@ -0,0 +1,59 @@
+package com.github.jonpereiradev.diffobjects.model;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class RecordElement {
+
+    private final List<String> tags = new ArrayList<>();
+
+    private int id;
+    private double price;
+    private boolean active;
+    private String name;
+
+    public RecordElement(int id, double price, boolean active, String name) {
+        this.id = id;
+        this.price = price;
+        this.active = active;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public boolean getActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+}
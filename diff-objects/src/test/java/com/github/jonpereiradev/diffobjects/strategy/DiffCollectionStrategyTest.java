@@ -2,12 +2,14 @@ package com.github.jonpereiradev.diffobjects.strategy;
 
 
 import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.comparator.UnorderedComparator;
 import com.github.jonpereiradev.diffobjects.model.ComplexElement;
 import com.github.jonpereiradev.diffobjects.model.ObjectElement;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -203,4 +205,86 @@ class DiffCollectionStrategyTest extends BaseStrategyTest {
         Assertions.assertEquals(1, afterCollection.size());
         Assertions.assertEquals("Object B", afterCollection.get(0).getName());
     }
+
+    @Test
+    void testCollectionStrategyUnorderedSameObjectsDifferentOrder() throws NoSuchMethodException {
+        DiffMetadata unorderedMetadata = unorderedMetadata("", new UnorderedComparator<>());
+        ComplexElement complexA = new ComplexElement(new ArrayList<>());
+        ComplexElement complexB = new ComplexElement(new ArrayList<>());
+
+        complexA.getObjectElementList().add(new ObjectElement("Object A"));
+        complexA.getObjectElementList().add(new ObjectElement("Object B"));
+        complexA.getObjectElementList().add(new ObjectElement("Object A"));
+        complexB.getObjectElementList().add(new ObjectElement("Object B"));
+        complexB.getObjectElementList().add(new ObjectElement("Object A"));
+        complexB.getObjectElementList().add(new ObjectElement("Object A"));
+
+        Assertions.assertTrue(diffStrategy.diff(complexA, complexB, unorderedMetadata).isEquals());
+        Assertions.assertFalse(diffStrategy.diff(complexA, complexB, diffMetadata).isEquals());
+    }
+
+    @Test
+    void testCollectionStrategyUnorderedDifferentOccurrences() throws NoSuchMethodException {
+        DiffMetadata unorderedMetadata = unorderedMetadata("", new UnorderedComparator<>());
+        ComplexElement complexA = new ComplexElement(new ArrayList<>());
+        ComplexElement complexB = new ComplexElement(new ArrayList<>());
+
+        complexA.getObjectElementList().add(new ObjectElement("Object A"));
+        complexA.getObjectElementList().add(new ObjectElement("Object A"));
+        complexB.getObjectElementList().add(new ObjectElement("Object B"));
+        complexB.getObjectElementList().add(new ObjectElement("Object A"));
+
+        Assertions.assertFalse(diffStrategy.diff(complexA, complexB, unorderedMetadata).isEquals());
+    }
+
+    @Test
+    void testCollectionStrategyUnorderedByNameWithCustomComparator() throws NoSuchMethodException {
+        DiffMetadata unorderedMetadata = unorderedMetadata("name", new UnorderedComparator<String>() {
+
+            @Override
+            public boolean isEquals(String expected, String current) {
+                return expected.equalsIgnoreCase(current);
+            }
+
+            @Override
+            public int hash(String value) {
+                return value.toLowerCase().hashCode();
+            }
+        });
+
+        ComplexElement complexA = new ComplexElement(new ArrayList<>());
+        ComplexElement complexB = new ComplexElement(new ArrayList<>());
+
+        complexA.getObjectElementList().add(new ObjectElement("Object A"));
+        complexA.getObjectElementList().add(new ObjectElement("Object B"));
+        complexB.getObjectElementList().add(new ObjectElement("OBJECT B"));
+        complexB.getObjectElementList().add(new ObjectElement("object a"));
+
+        Assertions.assertTrue(diffStrategy.diff(complexA, complexB, unorderedMetadata).isEquals());
+    }
+
+    @Test
+    void testCollectionStrategyByNameWithSubclassElements() {
+        ComplexElement complexA = new ComplexElement(new ArrayList<>());
+        ComplexElement complexB = new ComplexElement(new ArrayList<>());
+
+        complexA.getObjectElementListByName().add(new ObjectElement("Object A"));
+        complexA.getObjectElementListByName().add(new ObjectElement("Object B"));
+        complexB.getObjectElementListByName().add(new ObjectElement("Object A"));
+        complexB.getObjectElementListByName().add(new ObjectElement("Object") {
+
+            @Override
+            public String getName() {
+                return "Object B";
+            }
+        });
+
+        Assertions.assertTrue(diffStrategy.diff(complexA, complexB, diffMetadataByName).isEquals());
+        Assertions.assertFalse(diffStrategy.diff(complexB, new ComplexElement(new ArrayList<>()), diffMetadataByName).isEquals());
+    }
+
+    private static DiffMetadata unorderedMetadata(String value, UnorderedComparator<?> comparator) throws NoSuchMethodException {
+        Method method = ComplexElement.class.getMethod("getObjectElementList");
+        return new DiffMetadata(value, method, DiffStrategyType.COLLECTION, comparator);
+    }
 }
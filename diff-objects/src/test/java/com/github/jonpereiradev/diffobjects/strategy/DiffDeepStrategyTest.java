@@ -0,0 +1,125 @@
+package com.github.jonpereiradev.diffobjects.strategy;
+
+
+import com.github.jonpereiradev.diffobjects.DiffConfig;
+import com.github.jonpereiradev.diffobjects.DiffException;
+import com.github.jonpereiradev.diffobjects.DiffObjects;
+import com.github.jonpereiradev.diffobjects.DiffResult;
+import com.github.jonpereiradev.diffobjects.DiffResults;
+import com.github.jonpereiradev.diffobjects.builder.DiffConfigBuilder;
+import com.github.jonpereiradev.diffobjects.model.GraphElement;
+import com.github.jonpereiradev.diffobjects.model.ObjectElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+class DiffDeepStrategyTest {
+
+    private final DiffObjects<GraphElement> diffObjects = DiffObjects.forClass(GraphElement.class);
+
+    @Test
+    void testDeepStrategyMustReturnResultForEachPropertyPath() {
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next").build();
+        GraphElement expected = graph("A", "Element A");
+        GraphElement current = graph("A", "Element B");
+
+        Map<String, DiffResult> results = byField(diffObjects.diff(expected, current, config));
+
+        Assertions.assertEquals(6, results.size());
+        Assertions.assertTrue(results.get("next.name").isEquals());
+        Assertions.assertTrue(results.get("next.element.parent").isEquals());
+        Assertions.assertFalse(results.get("next.element.name").isEquals());
+        Assertions.assertEquals("Element A", results.get("next.element.name").getExpected());
+        Assertions.assertEquals("Element B", results.get("next.element.name").getCurrent());
+
+        // the cycle back to the root is walked once
+        Assertions.assertTrue(results.get("next.next.name").isEquals());
+        Assertions.assertTrue(results.get("next.next.element.name").isEquals());
+        Assertions.assertFalse(results.containsKey("next.next.next.name"));
+    }
+
+    @Test
+    void testDeepStrategyWithCycleMustCheckEquality() {
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next").build();
+
+        Assertions.assertTrue(diffObjects.isEquals(graph("A", "Element A"), graph("A", "Element A"), config));
+        Assertions.assertFalse(diffObjects.isEquals(graph("A", "Element A"), graph("A", "Element B"), config));
+    }
+
+    @Test
+    void testDeepStrategyDiffChangesMustReturnOnlyDifferentPaths() {
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().map("name").deep("next").build();
+        DiffResults results = diffObjects.diffChanges(graph("A", "Element A"), graph("A", "Element B"), config);
+
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertEquals("next.element.name", results.getResults().get(0).getField());
+    }
+
+    @Test
+    void testDeepStrategyWithListenerMustNotifyLeafPathAndStopWhenListenerReturnsFalse() {
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next").build();
+        List<String> fields = new ArrayList<>();
+
+        boolean equals = diffObjects.diff(graph("A", "Element A"), graph("B", "Element B"), config, (field, expected, current, properties) -> {
+            Assertions.assertEquals(field, properties.get("field"));
+            fields.add(field);
+            return false;
+        });
+
+        Assertions.assertFalse(equals);
+        Assertions.assertEquals(Collections.singletonList("next.name"), fields);
+        Assertions.assertEquals(3, diffObjects.diffChanges(graph("A", "Element A"), graph("B", "Element B"), config).size());
+    }
+
+    @Test
+    void testDeepStrategyWithMaxDepthMustCompareWithEqualsAtTheLimit() {
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next", 1, 100).build();
+        Map<String, DiffResult> results = byField(diffObjects.diff(graph("A", "Element A"), graph("A", "Element A"), config));
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertTrue(results.get("next.name").isEquals());
+        Assertions.assertTrue(results.get("next.element").isEquals());
+
+        // GraphElement doesn't implement equals, so the objects at the limit are compared by identity
+        Assertions.assertFalse(results.get("next.next").isEquals());
+    }
+
+    @Test
+    void testDeepStrategyWithMaxNodesMustThrowDiffException() {
+        DiffConfig config = DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next", 10, 1).build();
+        assertThrows(DiffException.class, () -> diffObjects.diff(graph("A", "Element A"), graph("A", "Element A"), config));
+    }
+
+    @Test
+    void testDeepStrategyWithNestedNameMustThrowDiffException() {
+        assertThrows(DiffException.class, () -> DiffConfigBuilder.forClass(GraphElement.class).mapping().fields().deep("next.name"));
+    }
+
+    /**
+     * Creates a root with a next element that points back to the root.
+     */
+    private static GraphElement graph(String name, String elementName) {
+        GraphElement root = new GraphElement(name, new ObjectElement("Root"));
+        GraphElement next = new GraphElement(name, new ObjectElement(elementName));
+
+        root.setNext(next);
+        next.setNext(root);
+
+        return root;
+    }
+
+    private static Map<String, DiffResult> byField(DiffResults results) {
+        Map<String, DiffResult> byField = new TreeMap<>();
+        results.forEach(result -> byField.put(result.getField(), result));
+        return byField;
+    }
+
+}
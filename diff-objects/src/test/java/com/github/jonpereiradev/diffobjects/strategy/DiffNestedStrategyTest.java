@@ -128,4 +128,25 @@ class DiffNestedStrategyTest extends BaseStrategyTest {
         Assertions.assertNull(diffObject.getCurrent());
     }
 
+    @Test
+    void testNestedStrategyMustResolveGetterOfSubclass() {
+        ObjectElement subclassElement = new ObjectElement("Object A") {
+
+            @Override
+            public String getName() {
+                return "Object B";
+            }
+        };
+
+        ComplexElement objectA = new ComplexElement(new ObjectElement("Object A"));
+        ComplexElement objectB = new ComplexElement(subclassElement);
+
+        for (int i = 0; i < 2; i++) {
+            DiffResult diffObject = diffStrategy.diff(objectA, objectB, diffMetadata);
+
+            Assertions.assertFalse(diffObject.isEquals());
+            Assertions.assertEquals("Object A", diffObject.getExpected());
+            Assertions.assertEquals("Object B", diffObject.getCurrent());
+        }
+    }
 }